@@ -0,0 +1,211 @@
+/*
+ * Copyright 2021 Key Bridge. All rights reserved.
+ * Use is subject to license terms.
+ *
+ * Software Code is protected by Copyrights. Author hereby reserves all rights
+ * in and to Copyrights and no license is granted under Copyrights in this
+ * Software License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request from: info@keybridgewireless.com
+ */
+package ch.keybridge.faces;
+
+import java.util.*;
+import javax.el.ELContext;
+import javax.el.ELResolver;
+import javax.el.FunctionMapper;
+import javax.el.VariableMapper;
+import javax.faces.application.Application;
+import javax.faces.application.FacesMessage;
+import javax.faces.component.UIViewRoot;
+import javax.faces.component.html.HtmlOutputText;
+import javax.faces.context.ExternalContext;
+import javax.faces.context.FacesContext;
+import javax.faces.context.ResponseStream;
+import javax.faces.context.ResponseWriter;
+import javax.faces.render.RenderKit;
+
+/**
+ * Lightweight FacesContext for benchmarks.
+ * <p>
+ * Provides a view root, a locale, an empty EL context and context attributes
+ * only. There is no
+ * application, external context or response. Converters and validators that
+ * read cookies find none and fall back to their component attributes.
+ * <p>
+ * Install with {@link #install()} in a JMH {@code @Setup} method and remove
+ * with {@link #release()} in the {@code @TearDown} method.
+ *
+ * @author Key Bridge
+ * @since v5.2.0 created 2021-02-11 for JMH benchmarks
+ */
+public class BenchmarkFacesContext extends FacesContext {
+
+  private final Map<Object, Object> attributes = new HashMap<>();
+  private final ELContext elContext = new BenchmarkELContext();
+  private UIViewRoot viewRoot;
+  private boolean released;
+
+  /**
+   * Create a new context with an English language view root and set it as the
+   * current instance. Components may only be created after the context is
+   * installed.
+   *
+   * @return the current context
+   */
+  public static BenchmarkFacesContext install() {
+    BenchmarkFacesContext context = new BenchmarkFacesContext();
+    setCurrentInstance(context);
+    context.viewRoot = new UIViewRoot();
+    context.viewRoot.setLocale(Locale.ENGLISH);
+    return context;
+  }
+
+  /**
+   * Build an output component configured the same way as a typical page
+   * component: a CSS style class, locale and time zone.
+   *
+   * @return a new output component
+   */
+  public static HtmlOutputText createComponent() {
+    HtmlOutputText component = new HtmlOutputText();
+    component.setId("benchmark");
+    component.setStyleClass("form-control");
+    component.getAttributes().put("locale", Locale.ENGLISH);
+    component.getAttributes().put("timezone", "America/New_York");
+    return component;
+  }
+
+  @Override
+  public Map<Object, Object> getAttributes() {
+    return attributes;
+  }
+
+  @Override
+  public ELContext getELContext() {
+    return elContext;
+  }
+
+  @Override
+  public Application getApplication() {
+    return null;
+  }
+
+  @Override
+  public Iterator<String> getClientIdsWithMessages() {
+    return Collections.emptyIterator();
+  }
+
+  @Override
+  public ExternalContext getExternalContext() {
+    return null;
+  }
+
+  @Override
+  public FacesMessage.Severity getMaximumSeverity() {
+    return null;
+  }
+
+  @Override
+  public Iterator<FacesMessage> getMessages() {
+    return Collections.emptyIterator();
+  }
+
+  @Override
+  public Iterator<FacesMessage> getMessages(String clientId) {
+    return Collections.emptyIterator();
+  }
+
+  @Override
+  public RenderKit getRenderKit() {
+    return null;
+  }
+
+  @Override
+  public boolean getRenderResponse() {
+    return false;
+  }
+
+  @Override
+  public boolean getResponseComplete() {
+    return false;
+  }
+
+  @Override
+  public ResponseStream getResponseStream() {
+    return null;
+  }
+
+  @Override
+  public void setResponseStream(ResponseStream responseStream) {
+  }
+
+  @Override
+  public ResponseWriter getResponseWriter() {
+    return null;
+  }
+
+  @Override
+  public void setResponseWriter(ResponseWriter responseWriter) {
+  }
+
+  @Override
+  public UIViewRoot getViewRoot() {
+    return viewRoot;
+  }
+
+  @Override
+  public void setViewRoot(UIViewRoot root) {
+    this.viewRoot = root;
+  }
+
+  @Override
+  public void addMessage(String clientId, FacesMessage message) {
+  }
+
+  @Override
+  public boolean isReleased() {
+    return released;
+  }
+
+  @Override
+  public void release() {
+    released = true;
+    attributes.clear();
+    setCurrentInstance(null);
+  }
+
+  @Override
+  public void renderResponse() {
+  }
+
+  @Override
+  public void responseComplete() {
+  }
+
+  /**
+   * EL context with no resolvers. Components are configured directly, not with
+   * value expressions.
+   */
+  private static class BenchmarkELContext extends ELContext {
+
+    @Override
+    public ELResolver getELResolver() {
+      return null;
+    }
+
+    @Override
+    public FunctionMapper getFunctionMapper() {
+      return null;
+    }
+
+    @Override
+    public VariableMapper getVariableMapper() {
+      return null;
+    }
+  }
+
+}
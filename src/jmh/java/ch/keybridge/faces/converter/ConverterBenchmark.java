@@ -0,0 +1,239 @@
+/*
+ * Copyright 2021 Key Bridge. All rights reserved.
+ * Use is subject to license terms.
+ *
+ * Software Code is protected by Copyrights. Author hereby reserves all rights
+ * in and to Copyrights and no license is granted under Copyrights in this
+ * Software License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request from: info@keybridgewireless.com
+ */
+package ch.keybridge.faces.converter;
+
+import ch.keybridge.faces.BenchmarkFacesContext;
+import java.math.BigDecimal;
+import java.time.*;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import javax.faces.component.html.HtmlOutputText;
+import javax.xml.datatype.DatatypeFactory;
+import javax.xml.datatype.XMLGregorianCalendar;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Render (getAsString) and decode (getAsObject) benchmarks for every
+ * converter. Each benchmark converts one typical value.
+ * <p>
+ * Run with {@code mvn -Pbenchmarks verify -Djmh.args=ConverterBenchmark}.
+ *
+ * @author Key Bridge
+ * @since v5.2.0 created 2021-02-11
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConverterBenchmark {
+
+  private BenchmarkFacesContext context;
+  private HtmlOutputText component;
+
+  private final ByteArrayConverter byteArrayConverter = new ByteArrayConverter();
+  private final CurrencyRateConverter currencyRateConverter = new CurrencyRateConverter();
+  private final EmailDomainConverter emailDomainConverter = new EmailDomainConverter();
+  private final EmailMaskConverter emailMaskConverter = new EmailMaskConverter();
+  private final EmailNameConverter emailNameConverter = new EmailNameConverter();
+  private final LocalDateConverter localDateConverter = new LocalDateConverter();
+  private final LocalDateTimeConverter localDateTimeConverter = new LocalDateTimeConverter();
+  private final LocaleConverter localeConverter = new LocaleConverter();
+  private final PhoneNumberConverter phoneNumberConverter = new PhoneNumberConverter();
+  private final PrettyDateTimeConverter prettyDateTimeConverter = new PrettyDateTimeConverter();
+  private final StringConverter stringConverter = new StringConverter();
+  private final TimezoneConverter timezoneConverter = new TimezoneConverter();
+  private final UriSchemeConverter uriSchemeConverter = new UriSchemeConverter();
+  private final XmlGregorianCalendarConverter xmlGregorianCalendarConverter = new XmlGregorianCalendarConverter();
+  private final XmlGregorianCalendarShortConverter xmlGregorianCalendarShortConverter = new XmlGregorianCalendarShortConverter();
+  private final ZoneIdConverter zoneIdConverter = new ZoneIdConverter();
+  private final ZonedDateTimeConverter zonedDateTimeConverter = new ZonedDateTimeConverter();
+
+  private final byte[] bytes = "The quick brown fox jumps over the lazy dog".getBytes();
+  private final String email = "jane.doe@example.com";
+  private final LocalDate localDate = LocalDate.of(2021, 2, 11);
+  private final LocalDateTime localDateTime = LocalDateTime.of(2021, 2, 11, 14, 30);
+  private final ZonedDateTime zonedDateTime = ZonedDateTime.of(localDateTime, ZoneId.of("Europe/Zurich"));
+  private final ZonedDateTime recent = ZonedDateTime.now().minusHours(3);
+  private String localDateText;
+  private String localDateTimeText;
+  private String zonedDateTimeText;
+  private XMLGregorianCalendar xmlGregorianCalendar;
+  private String xmlGregorianCalendarText;
+  private String xmlGregorianCalendarShortText;
+
+  @Setup
+  public void setup() throws Exception {
+    context = BenchmarkFacesContext.install();
+    component = BenchmarkFacesContext.createComponent();
+    localDateText = localDateConverter.getAsString(context, component, localDate);
+    localDateTimeText = localDateTimeConverter.getAsString(context, component, localDateTime);
+    zonedDateTimeText = zonedDateTimeConverter.getAsString(context, component, zonedDateTime);
+    xmlGregorianCalendar = DatatypeFactory.newInstance().newXMLGregorianCalendar(GregorianCalendar.from(zonedDateTime));
+    xmlGregorianCalendarText = xmlGregorianCalendarConverter.getAsString(context, component, xmlGregorianCalendar);
+    xmlGregorianCalendarShortText = xmlGregorianCalendarShortConverter.getAsString(context, component, xmlGregorianCalendar);
+  }
+
+  @TearDown
+  public void tearDown() {
+    context.release();
+  }
+
+  @Benchmark
+  public String byteArrayAsString() {
+    return byteArrayConverter.getAsString(context, component, bytes);
+  }
+
+  @Benchmark
+  public Object byteArrayAsObject() {
+    return byteArrayConverter.getAsObject(context, component, "VGhlIHF1aWNrIGJyb3duIGZveA==");
+  }
+
+  @Benchmark
+  public String currencyRateAsString() {
+    return currencyRateConverter.getAsString(context, component, BigDecimal.valueOf(1234.567));
+  }
+
+  @Benchmark
+  public Object currencyRateAsObject() {
+    return currencyRateConverter.getAsObject(context, component, "&#x24;1234.57 USD");
+  }
+
+  @Benchmark
+  public String emailDomainAsString() {
+    return emailDomainConverter.getAsString(context, component, email);
+  }
+
+  @Benchmark
+  public String emailMaskAsString() {
+    return emailMaskConverter.getAsString(context, component, email);
+  }
+
+  @Benchmark
+  public String emailNameAsString() {
+    return emailNameConverter.getAsString(context, component, email);
+  }
+
+  @Benchmark
+  public String localDateAsString() {
+    return localDateConverter.getAsString(context, component, localDate);
+  }
+
+  @Benchmark
+  public Object localDateAsObject() {
+    return localDateConverter.getAsObject(context, component, localDateText);
+  }
+
+  @Benchmark
+  public String localDateTimeAsString() {
+    return localDateTimeConverter.getAsString(context, component, localDateTime);
+  }
+
+  @Benchmark
+  public Object localDateTimeAsObject() {
+    return localDateTimeConverter.getAsObject(context, component, localDateTimeText);
+  }
+
+  @Benchmark
+  public String localeAsString() {
+    return localeConverter.getAsString(context, component, Locale.FRENCH);
+  }
+
+  @Benchmark
+  public Object localeAsObject() {
+    return localeConverter.getAsObject(context, component, "fr");
+  }
+
+  @Benchmark
+  public String phoneNumberAsString() {
+    return phoneNumberConverter.getAsString(context, component, "2025550123");
+  }
+
+  @Benchmark
+  public Object phoneNumberAsObject() {
+    return phoneNumberConverter.getAsObject(context, component, "(202) 555-0123");
+  }
+
+  @Benchmark
+  public String prettyDateTimeAsString() {
+    return prettyDateTimeConverter.getAsString(context, component, recent);
+  }
+
+  @Benchmark
+  public String stringAsString() {
+    return stringConverter.getAsString(context, component, "  the QUICK brown fox  ");
+  }
+
+  @Benchmark
+  public String timezoneAsString() {
+    return timezoneConverter.getAsString(context, component, TimeZone.getTimeZone("Europe/Zurich"));
+  }
+
+  @Benchmark
+  public Object timezoneAsObject() {
+    return timezoneConverter.getAsObject(context, component, "Europe/Zurich");
+  }
+
+  @Benchmark
+  public String uriSchemeAsString() {
+    return uriSchemeConverter.getAsString(context, component, "www.example.com/path");
+  }
+
+  @Benchmark
+  public Object uriSchemeAsObject() {
+    return uriSchemeConverter.getAsObject(context, component, "https://www.example.com/path");
+  }
+
+  @Benchmark
+  public String xmlGregorianCalendarAsString() {
+    return xmlGregorianCalendarConverter.getAsString(context, component, xmlGregorianCalendar);
+  }
+
+  @Benchmark
+  public Object xmlGregorianCalendarAsObject() {
+    return xmlGregorianCalendarConverter.getAsObject(context, component, xmlGregorianCalendarText);
+  }
+
+  @Benchmark
+  public String xmlGregorianCalendarShortAsString() {
+    return xmlGregorianCalendarShortConverter.getAsString(context, component, xmlGregorianCalendar);
+  }
+
+  @Benchmark
+  public Object xmlGregorianCalendarShortAsObject() {
+    return xmlGregorianCalendarShortConverter.getAsObject(context, component, xmlGregorianCalendarShortText);
+  }
+
+  @Benchmark
+  public String zoneIdAsString() {
+    return zoneIdConverter.getAsString(context, component, ZoneId.of("Europe/Zurich"));
+  }
+
+  @Benchmark
+  public Object zoneIdAsObject() {
+    return zoneIdConverter.getAsObject(context, component, "Europe/Zurich");
+  }
+
+  @Benchmark
+  public String zonedDateTimeAsString() {
+    return zonedDateTimeConverter.getAsString(context, component, zonedDateTime);
+  }
+
+  @Benchmark
+  public Object zonedDateTimeAsObject() {
+    return zonedDateTimeConverter.getAsObject(context, component, zonedDateTimeText);
+  }
+
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2021 Key Bridge. All rights reserved.
+ * Use is subject to license terms.
+ *
+ * Software Code is protected by Copyrights. Author hereby reserves all rights
+ * in and to Copyrights and no license is granted under Copyrights in this
+ * Software License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request from: info@keybridgewireless.com
+ */
+package ch.keybridge.faces.converter;
+
+import ch.keybridge.faces.BenchmarkFacesContext;
+import ch.keybridge.faces.markdown.MarkdownEngine;
+import java.util.concurrent.TimeUnit;
+import javax.faces.component.html.HtmlOutputText;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * MarkdownConverter benchmarks on small, medium and large documents.
+ * <p>
+ * The {@code cached} benchmark measures the converter as used on a page, where
+ * repeated text is served from the markdown cache. The {@code uncached}
+ * benchmark measures a full parse and render.
+ * <p>
+ * Run with
+ * {@code mvn -Pbenchmarks verify -Djmh.args=MarkdownConverterBenchmark}.
+ *
+ * @author Key Bridge
+ * @since v5.2.0 created 2021-02-11
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MarkdownConverterBenchmark {
+
+  /**
+   * A typical paragraph with inline formatting, a list and a table.
+   */
+  private static final String SECTION = "## Section\n\n"
+    + "Some **bold**, _emphasis_, ~~strike~~ and `code` with a [link](https://keybridge.ch).\n\n"
+    + "- [x] first item\n- [ ] second item\n- third item\n\n"
+    + "| Name | Value |\n|------|-------|\n| alpha | 1 |\n| beta | 2 |\n\n";
+
+  /**
+   * The document size: small (one line), medium (10 sections) or large (500
+   * sections).
+   */
+  @Param({"small", "medium", "large"})
+  public String size;
+
+  private BenchmarkFacesContext context;
+  private HtmlOutputText component;
+  private MarkdownConverter converter;
+  private String markdown;
+
+  @Setup
+  public void setup() {
+    context = BenchmarkFacesContext.install();
+    component = BenchmarkFacesContext.createComponent();
+    converter = new MarkdownConverter();
+    switch (size) {
+      case "small":
+        markdown = "A short **markdown** label.";
+        break;
+      case "medium":
+        markdown = repeat(10);
+        break;
+      default:
+        markdown = repeat(500);
+    }
+  }
+
+  @TearDown
+  public void tearDown() {
+    context.release();
+  }
+
+  private static String repeat(int sections) {
+    StringBuilder sb = new StringBuilder("# Document\n\n");
+    for (int i = 0; i < sections; i++) {
+      sb.append(SECTION);
+    }
+    return sb.toString();
+  }
+
+  @Benchmark
+  public String cached() {
+    return converter.getAsString(context, component, markdown);
+  }
+
+  @Benchmark
+  public String uncached() {
+    return MarkdownEngine.full().toHtmlUncached(markdown);
+  }
+
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2021 Key Bridge. All rights reserved.
+ * Use is subject to license terms.
+ *
+ * Software Code is protected by Copyrights. Author hereby reserves all rights
+ * in and to Copyrights and no license is granted under Copyrights in this
+ * Software License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request from: info@keybridgewireless.com
+ */
+package ch.keybridge.faces.validator;
+
+import ch.keybridge.faces.BenchmarkFacesContext;
+import ch.keybridge.faces.HttpClientFactory;
+import java.util.concurrent.TimeUnit;
+import javax.faces.component.html.HtmlOutputText;
+import javax.faces.validator.Validator;
+import javax.faces.validator.ValidatorException;
+import javax.ws.rs.client.Client;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Benchmarks for every validator, with one valid and one invalid value each.
+ * An invalid value is measured including the thrown ValidatorException.
+ * <p>
+ * The {@code UrlValidator} link check needs the network and is not measured;
+ * its URL parsing and HTTP client lookup are measured instead.
+ * <p>
+ * Run with {@code mvn -Pbenchmarks verify -Djmh.args=ValidatorBenchmark}.
+ *
+ * @author Key Bridge
+ * @since v5.2.0 created 2021-02-11
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidatorBenchmark {
+
+  private BenchmarkFacesContext context;
+  private HtmlOutputText component;
+
+  private final EmailValidator emailValidator = new EmailValidator();
+  private final PasswordValidator passwordValidator = new PasswordValidator();
+  private final PhoneValidator phoneValidator = new PhoneValidator();
+  private final UrlFormatValidator urlFormatValidator = new UrlFormatValidator();
+  private final UrlValidator urlValidator = new UrlValidator();
+  private final UuidValidator uuidValidator = new UuidValidator();
+
+  @Setup
+  public void setup() {
+    context = BenchmarkFacesContext.install();
+    component = BenchmarkFacesContext.createComponent();
+  }
+
+  @TearDown
+  public void tearDown() {
+    context.release();
+  }
+
+  /**
+   * Validate a value. The component style class is reset first, as it would be
+   * for a new request, since validators append their status to it.
+   *
+   * @return TRUE if the value is valid
+   */
+  private boolean validate(Validator validator, Object value) {
+    component.setStyleClass("form-control");
+    try {
+      validator.validate(context, component, value);
+      return true;
+    } catch (ValidatorException exception) {
+      return false;
+    }
+  }
+
+  @Benchmark
+  public boolean emailValid() {
+    return validate(emailValidator, "jane.doe@example.com");
+  }
+
+  @Benchmark
+  public boolean emailInvalid() {
+    return validate(emailValidator, "jane.doe@@example");
+  }
+
+  @Benchmark
+  public boolean passwordValid() {
+    return validate(passwordValidator, "Secret123");
+  }
+
+  @Benchmark
+  public boolean passwordInvalid() {
+    return validate(passwordValidator, "secret");
+  }
+
+  @Benchmark
+  public boolean phoneValid() {
+    return validate(phoneValidator, "+1 (202) 555-0123");
+  }
+
+  @Benchmark
+  public boolean phoneInvalid() {
+    return validate(phoneValidator, "555-01");
+  }
+
+  @Benchmark
+  public boolean urlFormatValid() {
+    return validate(urlFormatValidator, "https://www.example.com/path?query=1");
+  }
+
+  @Benchmark
+  public boolean urlFormatInvalid() {
+    return validate(urlFormatValidator, "www.example.com/path");
+  }
+
+  @Benchmark
+  public boolean urlInvalid() {
+    return validate(urlValidator, "www.example.com/path");
+  }
+
+  @Benchmark
+  public Client urlClient() {
+    return HttpClientFactory.getClient();
+  }
+
+  @Benchmark
+  public boolean uuidValid() {
+    return validate(uuidValidator, "123e4567-e89b-12d3-a456-426614174000");
+  }
+
+  @Benchmark
+  public boolean uuidInvalid() {
+    return validate(uuidValidator, "123e4567");
+  }
+
+}
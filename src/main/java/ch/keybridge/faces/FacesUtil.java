@@ -607,6 +607,108 @@ public class FacesUtil {
     return getRequestHeader("User-Agent");
   }//</editor-fold>
 
+  //<editor-fold defaultstate="collapsed" desc="Conditional GET">
+  /**
+   * Set the entity tag and modification time response headers and, if the
+   * browser already holds the current representation, answer the request with
+   * 304 (Not Modified) and complete the response.
+   * <p>
+   * Call this from a {@code preRenderView} event listener or view action so
+   * that a page which has not changed is not rendered. The entity tag should
+   * identify everything that varies in the page. This method only applies to
+   * non-postback GET and HEAD requests. Other requests are not changed.
+   * <p>
+   * The {@code If-None-Match} request header is evaluated first. If it is not
+   * present the {@code If-Modified-Since} request header is evaluated.
+   *
+   * @param etag         the (unquoted) entity tag. Sent as a weak validator.
+   * @param lastModified the modification time in milliseconds since the epoch;
+   *                     zero if not known
+   * @return TRUE if the response was completed with 304 (Not Modified)
+   */
+  public static boolean checkNotModified(String etag, long lastModified) {
+    FacesContext context = FacesContext.getCurrentInstance();
+    HttpServletRequest request = (HttpServletRequest) context.getExternalContext().getRequest();
+    if (context.isPostback() || !("GET".equals(request.getMethod()) || "HEAD".equals(request.getMethod()))) {
+      return false;
+    }
+    HttpServletResponse response = (HttpServletResponse) context.getExternalContext().getResponse();
+    String entityTag = etag == null ? null : "W/\"" + etag + "\"";
+    /**
+     * HTTP dates have one second resolution.
+     */
+    long modified = lastModified / 1000 * 1000;
+    if (entityTag != null) {
+      response.setHeader(HttpHeaders.ETAG, entityTag);
+    }
+    if (modified > 0) {
+      response.setDateHeader(HttpHeaders.LAST_MODIFIED, modified);
+    }
+    if (!response.containsHeader(HttpHeaders.CACHE_CONTROL)) {
+      response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+    }
+    String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+    long ifModifiedSince = -1;
+    if (ifNoneMatch == null) {
+      try {
+        ifModifiedSince = request.getDateHeader(HttpHeaders.IF_MODIFIED_SINCE);
+      } catch (IllegalArgumentException exception) {
+        ifModifiedSince = -1;
+      }
+    }
+    boolean notModified = isNotModified(ifNoneMatch, ifModifiedSince, etag, modified);
+    if (notModified) {
+      response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+      context.responseComplete();
+    }
+    return notModified;
+  }
+
+  /**
+   * Evaluate the conditional request headers. The {@code If-None-Match} header
+   * takes precedence; {@code If-Modified-Since} is only evaluated if it is not
+   * present.
+   *
+   * @param ifNoneMatch     the {@code If-None-Match} header; null if not
+   *                        present
+   * @param ifModifiedSince the {@code If-Modified-Since} header, in
+   *                        milliseconds since the epoch; -1 if not present
+   * @param etag            the (unquoted) entity tag; null if not known
+   * @param modified        the modification time, truncated to seconds; zero
+   *                        if not known
+   * @return TRUE if the browser holds the current representation
+   */
+  static boolean isNotModified(String ifNoneMatch, long ifModifiedSince, String etag, long modified) {
+    if (ifNoneMatch != null) {
+      return etag != null && matchesEntityTag(ifNoneMatch, etag);
+    }
+    return modified > 0 && ifModifiedSince >= modified;
+  }
+
+  /**
+   * Weak comparison of an {@code If-None-Match} header value with an entity
+   * tag.
+   *
+   * @param ifNoneMatch the header value. e.g. {@code W/"a", "b"} or {@code *}
+   * @param etag        the (unquoted) entity tag
+   * @return TRUE if the header matches the entity tag
+   */
+  private static boolean matchesEntityTag(String ifNoneMatch, String etag) {
+    for (String candidate : ifNoneMatch.split(",")) {
+      String tag = candidate.trim();
+      if ("*".equals(tag)) {
+        return true;
+      }
+      if (tag.startsWith("W/")) {
+        tag = tag.substring(2);
+      }
+      if (tag.equals("\"" + etag + "\"")) {
+        return true;
+      }
+    }
+    return false;
+  }//</editor-fold>
+
   //<editor-fold defaultstate="collapsed" desc="Browser redirection">
   /**
    * Redirect the browser by setting a relocate header parameter. This method is
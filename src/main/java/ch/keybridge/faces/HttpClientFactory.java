@@ -0,0 +1,201 @@
+/*
+ * Copyright 2021 Key Bridge. All rights reserved.
+ * Use is subject to license terms.
+ *
+ * Software Code is protected by Copyrights. Author hereby reserves all rights
+ * in and to Copyrights and no license is granted under Copyrights in this
+ * Software License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request from: info@keybridgewireless.com
+ */
+package ch.keybridge.faces;
+
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.security.cert.X509Certificate;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.X509TrustManager;
+import javax.ws.rs.client.Client;
+import javax.ws.rs.client.ClientBuilder;
+
+/**
+ * Shared HTTP client used by this library to download WADL files and check
+ * links.
+ * <p>
+ * Building an SSLContext and a JAX-RS client is expensive, and every client
+ * holds its own connection resources until it is closed. This factory builds
+ * one trusting client on first use and shares it for the life of the
+ * application. JAX-RS clients are thread safe. Connections are kept alive and
+ * reused by the client connector between requests, provided that each
+ * response is read or closed.
+ * <p>
+ * Note: the shared client trusts all server certificates and host names; for
+ * HTTPS links it does NOT validate the server certificate.
+ * <p>
+ * Timeouts may be set with the {@value #HTTP_CONNECT_TIMEOUT} and
+ * {@value #HTTP_READ_TIMEOUT} context parameters, in milliseconds. Individual
+ * requests may override them with the {@value #CONNECT_TIMEOUT} and
+ * {@value #READ_TIMEOUT} properties.
+ * <p>
+ * The context parameters are read when the application is started by the
+ * {@link HttpClientStartupListener}, and the client is closed when the
+ * application is stopped by the {@link HttpClientShutdownListener}. Both are
+ * registered in faces-config.xml.
+ *
+ * @author Key Bridge
+ * @since v5.2.0 created 2021-02-14 to share one HTTP client
+ * @since v5.2.0 read the timeouts at application start 2021-02-27
+ */
+public final class HttpClientFactory {
+
+  private static final Logger LOGGER = Logger.getLogger(HttpClientFactory.class.getName());
+
+  /**
+   * "jersey.config.client.connectTimeout". Connect timeout interval, in
+   * milliseconds. From org.glassfish.jersey.client.ClientProperties
+   */
+  public static final String CONNECT_TIMEOUT = "jersey.config.client.connectTimeout";
+  /**
+   * "jersey.config.client.readTimeout". Read timeout interval, in
+   * milliseconds. From org.glassfish.jersey.client.ClientProperties
+   */
+  public static final String READ_TIMEOUT = "jersey.config.client.readTimeout";
+
+  /**
+   * "ch.keybridge.faces.HTTP_CONNECT_TIMEOUT". Context parameter to set the
+   * connect timeout, in milliseconds.
+   */
+  public static final String HTTP_CONNECT_TIMEOUT = "ch.keybridge.faces.HTTP_CONNECT_TIMEOUT";
+  /**
+   * "ch.keybridge.faces.HTTP_READ_TIMEOUT". Context parameter to set the read
+   * timeout, in milliseconds.
+   */
+  public static final String HTTP_READ_TIMEOUT = "ch.keybridge.faces.HTTP_READ_TIMEOUT";
+
+  /**
+   * 2,000 milliseconds. The default connect timeout.
+   */
+  static final int DEFAULT_CONNECT_TIMEOUT = 2000;
+  /**
+   * 10,000 milliseconds. The default read timeout.
+   */
+  static final int DEFAULT_READ_TIMEOUT = 10000;
+
+  /**
+   * The configured connect timeout, in milliseconds.
+   */
+  private static volatile int connectTimeout = DEFAULT_CONNECT_TIMEOUT;
+  /**
+   * The configured read timeout, in milliseconds.
+   */
+  private static volatile int readTimeout = DEFAULT_READ_TIMEOUT;
+
+  /**
+   * The shared client. Null until first use and after close.
+   */
+  private static volatile Client client;
+
+  private HttpClientFactory() {
+  }
+
+  /**
+   * Get the shared trusting client. The client is built on first use.
+   * <p>
+   * The client is shared and must not be closed by the caller.
+   *
+   * @return the shared client
+   */
+  public static Client getClient() {
+    Client current = client;
+    if (current == null) {
+      synchronized (HttpClientFactory.class) {
+        current = client;
+        if (current == null) {
+          current = buildClient();
+          client = current;
+        }
+      }
+    }
+    return current;
+  }
+
+  /**
+   * Set the timeouts of the shared client. A client already built is closed so
+   * that the next client uses the new timeouts. This is called by the
+   * {@link HttpClientStartupListener} when the application is started.
+   *
+   * @param connectTimeout the connect timeout, in milliseconds
+   * @param readTimeout    the read timeout, in milliseconds
+   */
+  public static void setTimeouts(int connectTimeout, int readTimeout) {
+    HttpClientFactory.connectTimeout = connectTimeout;
+    HttpClientFactory.readTimeout = readTimeout;
+    close();
+    LOGGER.log(Level.FINE, "HTTP client timeouts {0} ms connect, {1} ms read", new Object[]{connectTimeout, readTimeout});
+  }
+
+  /**
+   * Close the shared client and release its resources. A new client is built
+   * if one is requested afterwards.
+   */
+  public static void close() {
+    Client current;
+    synchronized (HttpClientFactory.class) {
+      current = client;
+      client = null;
+    }
+    if (current != null) {
+      current.close();
+      LOGGER.log(Level.FINE, "Closed shared HTTP client");
+    }
+  }
+
+  /**
+   * Build a trusting client with the configured timeouts. Uses TLSv1.2.
+   *
+   * @return a new client
+   */
+  private static Client buildClient() {
+    ClientBuilder builder = ClientBuilder.newBuilder();
+    try {
+      SSLContext sslContext = SSLContext.getInstance("TLSv1.2"); //Java 8
+      System.setProperty("https.protocols", "TLSv1.2");  //Java 8
+      sslContext.init(null, new TrustManager[]{new InsecureTrustManager()}, new SecureRandom());
+      builder.sslContext(sslContext).hostnameVerifier((hostname, session) -> true);
+    } catch (GeneralSecurityException exception) {
+      LOGGER.log(Level.WARNING, "Unable to build a trusting SSL context.  {0}", exception.getMessage());
+    }
+    Client newClient = builder.build();
+    newClient.property(CONNECT_TIMEOUT, connectTimeout);
+    newClient.property(READ_TIMEOUT, readTimeout);
+    return newClient;
+  }
+
+  /**
+   * Trust manager that accepts all X509 certificates.
+   */
+  private static class InsecureTrustManager implements X509TrustManager {
+
+    @Override
+    public void checkClientTrusted(final X509Certificate[] chain, final String authType) {
+      // Everyone is trusted!
+    }
+
+    @Override
+    public void checkServerTrusted(final X509Certificate[] chain, final String authType) {
+      // Everyone is trusted!
+    }
+
+    @Override
+    public X509Certificate[] getAcceptedIssuers() {
+      return new X509Certificate[0];
+    }
+  }
+
+}
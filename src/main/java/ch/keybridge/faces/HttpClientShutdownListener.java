@@ -0,0 +1,47 @@
+/*
+ * Copyright 2021 Key Bridge. All rights reserved.
+ * Use is subject to license terms.
+ *
+ * Software Code is protected by Copyrights. Author hereby reserves all rights
+ * in and to Copyrights and no license is granted under Copyrights in this
+ * Software License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request from: info@keybridgewireless.com
+ */
+package ch.keybridge.faces;
+
+import javax.faces.application.Application;
+import javax.faces.event.AbortProcessingException;
+import javax.faces.event.SystemEvent;
+import javax.faces.event.SystemEventListener;
+
+/**
+ * Closes the shared {@link HttpClientFactory} client when the application is
+ * stopped. Registered in faces-config.xml for the
+ * {@code PreDestroyApplicationEvent}.
+ *
+ * @author Key Bridge
+ * @since v5.2.0 created 2021-02-14
+ */
+public class HttpClientShutdownListener implements SystemEventListener {
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void processEvent(SystemEvent event) throws AbortProcessingException {
+    HttpClientFactory.close();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean isListenerForSource(Object source) {
+    return source instanceof Application;
+  }
+
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2021 Key Bridge. All rights reserved.
+ * Use is subject to license terms.
+ *
+ * Software Code is protected by Copyrights. Author hereby reserves all rights
+ * in and to Copyrights and no license is granted under Copyrights in this
+ * Software License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request from: info@keybridgewireless.com
+ */
+package ch.keybridge.faces;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.faces.application.Application;
+import javax.faces.context.ExternalContext;
+import javax.faces.context.FacesContext;
+import javax.faces.event.AbortProcessingException;
+import javax.faces.event.SystemEvent;
+import javax.faces.event.SystemEventListener;
+
+/**
+ * Configures the shared {@link HttpClientFactory} client when the application
+ * is started. Registered in faces-config.xml for the
+ * {@code PostConstructApplicationEvent}.
+ * <p>
+ * The timeout context parameters are read here, once, because the shared
+ * client is often first requested from a background thread that has no faces
+ * context.
+ *
+ * @author Key Bridge
+ * @since v5.2.0 created 2021-02-27
+ */
+public class HttpClientStartupListener implements SystemEventListener {
+
+  private static final Logger LOGGER = Logger.getLogger(HttpClientStartupListener.class.getName());
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void processEvent(SystemEvent event) throws AbortProcessingException {
+    ExternalContext externalContext = FacesContext.getCurrentInstance().getExternalContext();
+    HttpClientFactory.setTimeouts(readTimeout(externalContext, HttpClientFactory.HTTP_CONNECT_TIMEOUT, HttpClientFactory.DEFAULT_CONNECT_TIMEOUT),
+                                  readTimeout(externalContext, HttpClientFactory.HTTP_READ_TIMEOUT, HttpClientFactory.DEFAULT_READ_TIMEOUT));
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean isListenerForSource(Object source) {
+    return source instanceof Application;
+  }
+
+  /**
+   * Read a timeout from the context init parameters.
+   *
+   * @param externalContext the external context
+   * @param name            the parameter name
+   * @param defaultValue    the default timeout
+   * @return the timeout, in milliseconds
+   */
+  private static int readTimeout(ExternalContext externalContext, String name, int defaultValue) {
+    String value = externalContext.getInitParameter(name);
+    if (value != null && !value.trim().isEmpty()) {
+      try {
+        return Integer.parseInt(value.trim());
+      } catch (NumberFormatException exception) {
+        LOGGER.log(Level.WARNING, "Invalid {0} value. Using the default.  {1}", new Object[]{name, exception.getMessage()});
+      }
+    }
+    return defaultValue;
+  }
+
+}
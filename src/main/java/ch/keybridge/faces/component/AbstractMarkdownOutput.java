@@ -0,0 +1,109 @@
+/*
+ * Copyright 2021 Key Bridge. All rights reserved.
+ * Use is subject to license terms.
+ *
+ * Software Code is protected by Copyrights. Author hereby reserves all rights
+ * in and to Copyrights and no license is granted under Copyrights in this
+ * Software License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request from: info@keybridgewireless.com
+ */
+package ch.keybridge.faces.component;
+
+import java.io.IOException;
+import javax.faces.component.UIComponentBase;
+import javax.faces.context.FacesContext;
+import javax.faces.context.ResponseWriter;
+
+/**
+ * Base class for components that write HTML content wrapped in a {@code div}
+ * element directly to the response writer.
+ * <p>
+ * These components replace composite components that rendered content with
+ * {@code h:outputText escape="false"}. Writing directly avoids the composite
+ * component tree and the intermediate copies of the HTML string.
+ *
+ * @author Key Bridge
+ * @since v5.2.0 created 2021-02-08 to stream markdown to the response
+ */
+public abstract class AbstractMarkdownOutput extends UIComponentBase {
+
+  /**
+   * "ch.keybridge.faces.Markdown". The component family.
+   */
+  public static final String COMPONENT_FAMILY = "ch.keybridge.faces.Markdown";
+
+  /**
+   * The component properties.
+   */
+  protected enum PropertyKeys {
+    value, name, styleClass
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public String getFamily() {
+    return COMPONENT_FAMILY;
+  }
+
+  /**
+   * Get the CSS style class applied to the wrapping div.
+   *
+   * @return the CSS style class
+   */
+  public String getStyleClass() {
+    return (String) getStateHelper().eval(PropertyKeys.styleClass);
+  }
+
+  /**
+   * Set the CSS style class applied to the wrapping div.
+   *
+   * @param styleClass the CSS style class
+   */
+  public void setStyleClass(String styleClass) {
+    getStateHelper().put(PropertyKeys.styleClass, styleClass);
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * This component has no renderer and writes its own content.
+   */
+  @Override
+  public String getRendererType() {
+    return null;
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * Write the wrapping div and the HTML content.
+   */
+  @Override
+  public void encodeEnd(FacesContext context) throws IOException {
+    ResponseWriter writer = context.getResponseWriter();
+    writer.startElement("div", this);
+    writer.writeAttribute("id", getClientId(context), "id");
+    String styleClass = getStyleClass();
+    if (styleClass != null) {
+      writer.writeAttribute("class", styleClass, PropertyKeys.styleClass.name());
+    }
+    encodeContent(context, writer);
+    writer.endElement("div");
+  }
+
+  /**
+   * Write the HTML content. Content is written without escaping.
+   *
+   * @param context the faces context
+   * @param writer  the response writer
+   * @throws IOException if the content cannot be written
+   */
+  protected abstract void encodeContent(FacesContext context, ResponseWriter writer) throws IOException;
+
+}
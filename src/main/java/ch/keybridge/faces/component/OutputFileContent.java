@@ -0,0 +1,72 @@
+/*
+ * Copyright 2021 Key Bridge. All rights reserved.
+ * Use is subject to license terms.
+ *
+ * Software Code is protected by Copyrights. Author hereby reserves all rights
+ * in and to Copyrights and no license is granted under Copyrights in this
+ * Software License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request from: info@keybridgewireless.com
+ */
+package ch.keybridge.faces.component;
+
+import ch.keybridge.faces.jsf.FileContentBean;
+import java.io.IOException;
+import javax.faces.context.FacesContext;
+import javax.faces.context.ResponseWriter;
+
+/**
+ * File content output component. Writes FIXED content read from a project
+ * resource file to the response.
+ * <p>
+ * Content is provided by the session {@code fileContent} bean, which serves
+ * the rendered XHTML held by the application content store. The held string is
+ * written directly to the response writer.
+ * <p>
+ * Example use: {@code <markdown:outputFileContent name="about"/>}
+ *
+ * @author Key Bridge
+ * @since v5.2.0 created 2021-02-08 to replace the outputFileContent composite
+ */
+public class OutputFileContent extends AbstractMarkdownOutput {
+
+  /**
+   * "outputFileContent". The component type, as configured in
+   * faces-config.xml.
+   */
+  public static final String COMPONENT_TYPE = "outputFileContent";
+
+  /**
+   * Get the file name (no extension).
+   *
+   * @return the file name
+   */
+  public String getName() {
+    return (String) getStateHelper().eval(PropertyKeys.name);
+  }
+
+  /**
+   * Set the file name (no extension).
+   *
+   * @param name the file name
+   */
+  public void setName(String name) {
+    getStateHelper().put(PropertyKeys.name, name);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  protected void encodeContent(FacesContext context, ResponseWriter writer) throws IOException {
+    FileContentBean fileContent = context.getApplication().evaluateExpressionGet(context, "#{fileContent}", FileContentBean.class);
+    String content = fileContent.readContent(getName());
+    if (content != null) {
+      writer.write(content);
+    }
+  }
+
+}
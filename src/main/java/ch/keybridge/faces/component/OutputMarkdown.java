@@ -0,0 +1,67 @@
+/*
+ * Copyright 2021 Key Bridge. All rights reserved.
+ * Use is subject to license terms.
+ *
+ * Software Code is protected by Copyrights. Author hereby reserves all rights
+ * in and to Copyrights and no license is granted under Copyrights in this
+ * Software License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request from: info@keybridgewireless.com
+ */
+package ch.keybridge.faces.component;
+
+import ch.keybridge.faces.markdown.MarkdownEngine;
+import java.io.IOException;
+import javax.faces.context.FacesContext;
+import javax.faces.context.ResponseWriter;
+
+/**
+ * Markdown output component. Converts Markdown encoded text to HTML and writes
+ * it to the response.
+ * <p>
+ * Short text is written from the shared markdown cache. Long text is rendered
+ * directly into the response writer without building an intermediate HTML
+ * string.
+ * <p>
+ * Example use: {@code <markdown:outputText value="#{bean.text}" styleClass="small"/>}
+ *
+ * @author Key Bridge
+ * @since v5.2.0 created 2021-02-08 to replace the outputText composite
+ */
+public class OutputMarkdown extends AbstractMarkdownOutput {
+
+  /**
+   * "outputMarkdown". The component type, as configured in faces-config.xml.
+   */
+  public static final String COMPONENT_TYPE = "outputMarkdown";
+
+  /**
+   * Get the markdown encoded text.
+   *
+   * @return the markdown text
+   */
+  public String getValue() {
+    return (String) getStateHelper().eval(PropertyKeys.value);
+  }
+
+  /**
+   * Set the markdown encoded text.
+   *
+   * @param value the markdown text
+   */
+  public void setValue(String value) {
+    getStateHelper().put(PropertyKeys.value, value);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  protected void encodeContent(FacesContext context, ResponseWriter writer) throws IOException {
+    MarkdownEngine.full().write(getValue(), writer);
+  }
+
+}
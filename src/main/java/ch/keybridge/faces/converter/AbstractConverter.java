@@ -14,11 +14,16 @@
  */
 package ch.keybridge.faces.converter;
 
-import ch.keybridge.faces.FacesUtil;
 import java.time.*;
+import java.time.format.DateTimeFormatter;
+import java.time.format.FormatStyle;
 import java.util.Date;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
 import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 import javax.faces.component.UIComponent;
 import javax.faces.context.FacesContext;
 import javax.faces.convert.Converter;
@@ -29,6 +34,10 @@ import javax.faces.convert.Converter;
  *
  * @author Jesse Caulfield
  * @since v4.1.1 created 10/29/19
+ * @since v5.2.0 share date time formatters between conversions 2021-02-22
+ * @since v5.2.0 read the locale cookies once per request 2021-02-23
+ * @since v5.2.0 share parsed zone and locale instances 2021-02-24
+ * @since v5.2.0 do not flush the shared formatters when full 2021-02-27
  */
 public abstract class AbstractConverter implements Converter {
 
@@ -87,7 +96,8 @@ public abstract class AbstractConverter implements Converter {
 
   /**
    * Extract the Locale provided as a component attribute. If none is provided
-   * then try to get the Locale from a {@code .locale} cookie.
+   * then try to get the Locale from a {@code .locale} cookie. The cookie is
+   * read once per request.
    *
    * @param context   the context
    * @param component the component
@@ -100,14 +110,12 @@ public abstract class AbstractConverter implements Converter {
        * If locale was not specified then try to get it from the cookie.
        */
       if (locale == null) {
-        locale = FacesUtil.getCookie(".locale") != null
-                 ? FacesUtil.getCookie(".locale").getValue()
-                 : null;
+        locale = RequestLocaleContext.getInstance(context).getLocale();
       }
       return (locale instanceof Locale)
              ? (Locale) locale
              : (locale instanceof String)
-               ? new Locale((String) locale)
+               ? ZoneLocaleCache.findLocale((String) locale)
                : context.getViewRoot().getLocale();
     } catch (Exception e) {
       return Locale.getDefault();
@@ -116,23 +124,33 @@ public abstract class AbstractConverter implements Converter {
 
   /**
    * Extract the time zone id provided as a component attribute. If none is
-   * provided then try to get the Locale from a {@code .tzid} cookie.
+   * provided then try to get the Locale from a {@code .tzid} cookie. The
+   * cookie is read once per request.
    *
    * @param component the component
-   * @return the time zone
+   * @return the time zone; UTC if none is provided or the time zone id is not
+   *         valid
    */
   protected ZoneId getZoneId(UIComponent component) {
     Object timeZone = component.getAttributes().get("timezone");
     if (timeZone == null) {
-      timeZone = FacesUtil.getCookie(".tzid") != null
-                 ? FacesUtil.getCookie(".tzid").getValue()
-                 : "UTC";
+      RequestLocaleContext requestContext = RequestLocaleContext.getInstance(null);
+      timeZone = requestContext != null ? requestContext.getZoneId() : UTC_ZONE;
     }
-    return (timeZone instanceof TimeZone)
-           ? ((TimeZone) timeZone).toZoneId()
-           : (timeZone instanceof String)
-             ? ZoneId.of((String) timeZone)
-             : null;
+    return (timeZone instanceof ZoneId)
+           ? (ZoneId) timeZone
+           : (timeZone instanceof TimeZone)
+             ? ((TimeZone) timeZone).toZoneId()
+             : (timeZone instanceof String)
+               ? zoneOrUtc(ZoneLocaleCache.findZoneId((String) timeZone))
+               : UTC_ZONE;
+  }
+
+  /**
+   * Returns the zone, or UTC if null.
+   */
+  private static ZoneId zoneOrUtc(ZoneId zone) {
+    return zone != null ? zone : UTC_ZONE;
   }
 
   /**
@@ -156,6 +174,116 @@ public abstract class AbstractConverter implements Converter {
 
   protected static final ZoneId UTC_ZONE = ZoneOffset.UTC;
 
+  /**
+   * 1,024. The maximum number of shared date time formatters. Once the cache
+   * is full new formatters are built per use and not kept, so the shared
+   * formatters are never discarded. Patterns are normally fixed in the page
+   * markup; this guards against unbounded growth from client supplied locale
+   * and zone cookies.
+   */
+  private static final int MAX_FORMATTERS = 1024;
+  /**
+   * The shared date time formatters, keyed by pattern or style, locale and
+   * zone. DateTimeFormatter is immutable and thread safe.
+   */
+  private static final Map<FormatterKey, DateTimeFormatter> FORMATTERS = new ConcurrentHashMap<>();
+
+  /**
+   * Get a shared formatter for a pattern.
+   *
+   * @param pattern the pattern. e.g. "dd-MMM-yyyy"
+   * @param locale  the locale
+   * @param zone    the override zone; null for none
+   * @return the formatter
+   * @throws IllegalArgumentException if the pattern is invalid
+   * @since v5.2.0 added 2021-02-22
+   */
+  protected static DateTimeFormatter ofPattern(String pattern, Locale locale, ZoneId zone) {
+    return getFormatter("pattern:" + pattern, locale, zone, () -> DateTimeFormatter.ofPattern(pattern, locale));
+  }
+
+  /**
+   * Get a shared localized date time formatter.
+   *
+   * @param dateStyle the date style
+   * @param timeStyle the time style
+   * @param locale    the locale
+   * @param zone      the override zone; null for none
+   * @return the formatter
+   * @since v5.2.0 added 2021-02-22
+   */
+  protected static DateTimeFormatter ofLocalizedDateTime(FormatStyle dateStyle, FormatStyle timeStyle, Locale locale, ZoneId zone) {
+    return getFormatter("style:" + dateStyle + "," + timeStyle, locale, zone, () -> DateTimeFormatter.ofLocalizedDateTime(dateStyle, timeStyle).withLocale(locale));
+  }
+
+  /**
+   * Get a shared ISO local date formatter.
+   *
+   * @param locale the locale
+   * @param zone   the override zone; null for none
+   * @return the formatter
+   * @since v5.2.0 added 2021-02-22
+   */
+  protected static DateTimeFormatter ofIsoLocalDate(Locale locale, ZoneId zone) {
+    return getFormatter("iso:localDate", locale, zone, () -> DateTimeFormatter.ISO_LOCAL_DATE.withLocale(locale));
+  }
+
+  /**
+   * Get a shared formatter, building it on first use.
+   *
+   * @param format  the pattern or style key
+   * @param locale  the locale
+   * @param zone    the override zone; null for none
+   * @param builder builds the formatter without the zone
+   * @return the formatter
+   */
+  private static DateTimeFormatter getFormatter(String format, Locale locale, ZoneId zone, Supplier<DateTimeFormatter> builder) {
+    FormatterKey key = new FormatterKey(format, locale, zone);
+    DateTimeFormatter formatter = FORMATTERS.get(key);
+    if (formatter == null) {
+      formatter = builder.get().withZone(zone);
+      if (FORMATTERS.size() < MAX_FORMATTERS) {
+        FORMATTERS.putIfAbsent(key, formatter);
+      }
+    }
+    return formatter;
+  }
+
+  /**
+   * The shared formatter cache key.
+   */
+  private static final class FormatterKey {
+
+    private final String format;
+    private final Locale locale;
+    private final ZoneId zone;
+    private final int hash;
+
+    FormatterKey(String format, Locale locale, ZoneId zone) {
+      this.format = format;
+      this.locale = locale;
+      this.zone = zone;
+      this.hash = Objects.hash(format, locale, zone);
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof FormatterKey)) {
+        return false;
+      }
+      FormatterKey other = (FormatterKey) obj;
+      return format.equals(other.format) && Objects.equals(locale, other.locale) && Objects.equals(zone, other.zone);
+    }
+  }
+
   /**
    * Convert Date to a LocalDate. Gets the LocalDate part of this date-time.
    * This returns a LocalDate with the same year, month and day as this
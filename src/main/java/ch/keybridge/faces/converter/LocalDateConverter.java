@@ -49,6 +49,7 @@ import javax.faces.convert.ConverterException;
  *
  * @author Key Bridge
  * @since v0.11.0 added 12/05/17 from stackoverflow example
+ * @since v5.2.0 use the shared date time formatters 2021-02-22
  * @see
  * <a href="https://stackoverflow.com/questions/34883270/how-to-use-java-time-zoneddatetime-localdatetime-in-pcalendar">Dealing
  * with LocalDateTime in JSF</a>
@@ -98,7 +99,8 @@ public class LocalDateConverter extends AbstractConverter {
   }
 
   /**
-   * Build a date time formatter.
+   * Get the shared date time formatter for the component pattern, locale and
+   * zone.
    *
    * @param context   the context
    * @param component the parent component
@@ -107,8 +109,8 @@ public class LocalDateConverter extends AbstractConverter {
   private DateTimeFormatter getFormatter(FacesContext context, UIComponent component) {
     String pattern = getPattern(component);
     return pattern == null
-           ? DateTimeFormatter.ISO_LOCAL_DATE.withLocale(getLocale(context, component)).withZone(UTC_ZONE)
-           : DateTimeFormatter.ofPattern(getPattern(component), getLocale(context, component)).withZone(UTC_ZONE);
+           ? ofIsoLocalDate(getLocale(context, component), UTC_ZONE)
+           : ofPattern(pattern, getLocale(context, component), UTC_ZONE);
   }
 
 }
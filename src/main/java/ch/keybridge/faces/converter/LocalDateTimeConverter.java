@@ -51,6 +51,7 @@ import javax.faces.convert.ConverterException;
  *
  * @author Key Bridge
  * @since v0.11.0 added 12/05/17 from stackoverflow example
+ * @since v5.2.0 use the shared date time formatters 2021-02-22
  * @see
  * <a href="https://stackoverflow.com/questions/34883270/how-to-use-java-time-zoneddatetime-localdatetime-in-pcalendar">Dealing
  * with LocalDateTime in JSF</a>
@@ -94,7 +95,8 @@ public class LocalDateTimeConverter extends AbstractConverter {
   }
 
   /**
-   * Build a date time formatter.
+   * Get the shared date time formatter for the component pattern, locale and
+   * zone.
    *
    * @param context   the context
    * @param component the parent component
@@ -102,10 +104,9 @@ public class LocalDateTimeConverter extends AbstractConverter {
    */
   private DateTimeFormatter getFormatter(FacesContext context, UIComponent component) {
     String pattern = getPattern(component);
-    DateTimeFormatter formatter = pattern == null
-                                  ? DateTimeFormatter.ofLocalizedDateTime(FormatStyle.MEDIUM, FormatStyle.SHORT).withLocale(getLocale(context, component))
-                                  : DateTimeFormatter.ofPattern(getPattern(component), getLocale(context, component));
-    return formatter.withZone(getZoneId(component));
+    return pattern == null
+           ? ofLocalizedDateTime(FormatStyle.MEDIUM, FormatStyle.SHORT, getLocale(context, component), getZoneId(component))
+           : ofPattern(pattern, getLocale(context, component), getZoneId(component));
   }
 
 }
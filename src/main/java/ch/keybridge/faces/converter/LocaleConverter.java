@@ -28,6 +28,7 @@ import javax.faces.convert.Converter;
  *
  * @author Key Bridge
  * @since v2.3.0 create 03/28/17
+ * @since v5.2.0 share parsed locale instances 2021-02-24
  */
 public class LocaleConverter implements Converter {
 
@@ -36,7 +37,7 @@ public class LocaleConverter implements Converter {
    */
   @Override
   public Object getAsObject(FacesContext context, UIComponent component, String value) {
-    return value == null ? null : new Locale(value);
+    return ZoneLocaleCache.findLocale(value);
   }
 
   /**
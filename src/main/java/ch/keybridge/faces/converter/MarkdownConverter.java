@@ -18,19 +18,8 @@
  */
 package ch.keybridge.faces.converter;
 
-import com.vladsch.flexmark.ext.admonition.AdmonitionExtension;
-import com.vladsch.flexmark.ext.gfm.strikethrough.StrikethroughExtension;
-import com.vladsch.flexmark.ext.gfm.tasklist.TaskListExtension;
-import com.vladsch.flexmark.ext.gitlab.GitLabExtension;
-import com.vladsch.flexmark.ext.macros.MacrosExtension;
-import com.vladsch.flexmark.ext.superscript.SuperscriptExtension;
-import com.vladsch.flexmark.ext.tables.TablesExtension;
-import com.vladsch.flexmark.html.HtmlRenderer;
-import com.vladsch.flexmark.parser.Parser;
-import com.vladsch.flexmark.util.ast.KeepType;
-import com.vladsch.flexmark.util.ast.Node;
-import com.vladsch.flexmark.util.data.MutableDataSet;
-import java.util.Arrays;
+import ch.keybridge.faces.markdown.MarkdownCache;
+import ch.keybridge.faces.markdown.MarkdownEngine;
 import javax.faces.component.UIComponent;
 import javax.faces.context.FacesContext;
 import javax.faces.convert.Converter;
@@ -43,61 +32,21 @@ import javax.faces.convert.Converter;
  * @author Key Bridge
  * @since v3.0.0 added 01/16/18
  * @since v4.0.0 extended 02/18/19 to include MacrosExtension
+ * @since v5.2.0 cache rendered output 2021-02-01
+ * @since v5.2.0 use the shared markdown engine 2021-02-02
  * @see <a href="https://daringfireball.net/projects/markdown/">Markdown</a>
  */
 public class MarkdownConverter implements Converter {
 
   /**
-   * The HTML renderer.
+   * The shared markdown engine. The engine is configured with all supported
+   * extensions and caches rendered HTML application-wide, so repeated input
+   * is returned without re-parsing.
    */
-  private final HtmlRenderer renderer;
-  /**
-   * The Markdown processor.
-   */
-  private final Parser parser;
+  private final MarkdownEngine engine;
 
   public MarkdownConverter() {
-    /**
-     * Set extensions.
-     * <p>
-     * TablesExtension enables tables using pipes. <br>
-     * GitLabExtension parses and renders GitLab Flavoured Markdown including
-     * math (via Katex) and charts (via Mermaid). <br>
-     * TaskListExtension renders check boxes in lists (cute).
-     * <p>
-     * Macro Definitions are block elements which can contain any markdown
-     * element(s) but can be expanded in a block or inline context, allowing
-     * block elements to be used where only inline elements are permitted by the
-     * syntax. See https://github.com/vsch/flexmark-java/wiki/Macros-Extension
-     */
-    MutableDataSet options = new MutableDataSet();
-    options.set(Parser.EXTENSIONS, Arrays.asList(
-                AdmonitionExtension.create(),
-                StrikethroughExtension.create(),
-                TaskListExtension.create(),
-                GitLabExtension.create(),
-                MacrosExtension.create(),
-                SuperscriptExtension.create(),
-                TablesExtension.create()
-              ));
-    /**
-     * Parser.REFERENCES_KEEP defines the behavior of references when duplicate
-     * references are defined in the source. In this case it is configured to
-     * keep the last value, whereas the default behavior is to keep the first
-     * value.
-     * <p>
-     * TablesExtension added for full GFM table compatibility.
-     */
-    options.set(Parser.REFERENCES_KEEP, KeepType.LAST)
-      .set(HtmlRenderer.INDENT_SIZE, 2)
-      .set(HtmlRenderer.PERCENT_ENCODE_URLS, true)
-      .set(TablesExtension.CLASS_NAME, "table")
-      .set(TablesExtension.COLUMN_SPANS, false)
-      .set(TablesExtension.APPEND_MISSING_COLUMNS, true)
-      .set(TablesExtension.DISCARD_EXTRA_COLUMNS, true)
-      .set(TablesExtension.HEADER_SEPARATOR_COLUMN_MATCH, true);
-    this.parser = Parser.builder(options).build();
-    this.renderer = HtmlRenderer.builder(options).build();
+    this.engine = MarkdownEngine.full();
   }
 
   /**
@@ -114,8 +63,17 @@ public class MarkdownConverter implements Converter {
      * Cast the object to String since we only expect this converter to be used
      * in a text widget.
      */
-    Node node = parser.parse((String) modelValue);
-    return renderer.render(node);
+    return engine.toHtml((String) modelValue);
+  }
+
+  /**
+   * Get the application-wide rendered HTML cache. This is useful to monitor
+   * cache statistics or to clear the cache.
+   *
+   * @return the rendered HTML cache
+   */
+  public static MarkdownCache getCache() {
+    return MarkdownEngine.full().getCache();
   }
 
   /**
@@ -18,11 +18,9 @@
  */
 package ch.keybridge.faces.converter;
 
-import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.time.ZonedDateTime;
-import java.util.Calendar;
 import java.util.Date;
+import java.util.Locale;
 import javax.faces.application.FacesMessage;
 import javax.faces.component.UIComponent;
 import javax.faces.context.FacesContext;
@@ -71,6 +69,8 @@ import org.ocpsoft.prettytime.PrettyTime;
  * with LocalDateTime in JSF</a>
  * @since v4.0.0 created 01/14/19 to consolidate different pretty converters
  * @see <a href="http://www.ocpsoft.org/prettytime/">prettytime</a>
+ * @since v5.2.0 reuse the PrettyTime formatters of the request 2021-02-25
+ * @since v5.2.0 memoize relative times within a request 2021-02-26
  */
 public class PrettyDateTimeConverter extends AbstractConverter {
 
@@ -79,26 +79,28 @@ public class PrettyDateTimeConverter extends AbstractConverter {
    */
   @Override
   public String getAsString(FacesContext context, UIComponent component, Object modelValue) {
-    if (modelValue == null) {
-      return "never";
-    }
-
-    if (modelValue instanceof ZonedDateTime) {
-      return new PrettyTime(getLocale(context, component)).format(toDate((ZonedDateTime) modelValue));
-    } else if (modelValue instanceof LocalDateTime) {
-      return new PrettyTime(getLocale(context, component)).format(toDate((LocalDateTime) modelValue));
-    } else if (modelValue instanceof LocalDate) {
-      return new PrettyTime(getLocale(context, component)).format(toDate((LocalDate) modelValue));
-    } else if (modelValue instanceof Calendar) {
-      return new PrettyTime(getLocale(context, component)).format((Calendar) modelValue);
-    } else if (modelValue instanceof Date) {
-      return new PrettyTime(getLocale(context, component)).format((Date) modelValue);
-    } else if (modelValue instanceof String) {
-      return new PrettyTime(getLocale(context, component)).format(parseZonedDateTime((String) modelValue));
-    } else {
+    try {
+      return getFormatter(context, component).format(modelValue);
+    } catch (IllegalArgumentException ex) {
       throw new ConverterException(new FacesMessage(modelValue + " is not a valid date or time representation."));
     }
+  }
 
+  /**
+   * Get the relative time formatter for the component locale. Within a
+   * request the formatter is shared by all conversions, is relative to the
+   * same reference time and memoizes its output.
+   *
+   * @param context   the context
+   * @param component the component
+   * @return the formatter
+   */
+  private RelativeTimeFormatter getFormatter(FacesContext context, UIComponent component) {
+    Locale locale = getLocale(context, component);
+    RequestLocaleContext requestContext = RequestLocaleContext.getInstance(context);
+    return requestContext != null
+           ? requestContext.getRelativeTimeFormatter(locale)
+           : new RelativeTimeFormatter(new PrettyTime(locale));
   }
 
   /**
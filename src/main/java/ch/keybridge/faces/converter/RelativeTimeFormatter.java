@@ -0,0 +1,202 @@
+/*
+ *  Copyright (C) 2014 Caulfield IP Holdings (Caulfield) and/or its affiliates.
+ *  All rights reserved. Use is subject to license terms.
+ *
+ *  Software Code is protected by Caulfield Copyrights. Caulfield hereby reserves
+ *  all rights in and to Caulfield Copyrights and no license is granted under
+ *  Caulfield Copyrights in this Software License Agreement. Caulfield generally
+ *  licenses Caulfield Copyrights for commercialization pursuant to the terms of
+ *  either Caulfield's Standard Software Source Code License Agreement or
+ *  Caulfield's Standard Product License Agreement.
+ *
+ *  A copy of either License Agreement can be obtained on request by email from:
+ *  info@caufield.org.
+ */
+package ch.keybridge.faces.converter;
+
+import java.time.*;
+import java.util.*;
+import javax.faces.context.FacesContext;
+import org.ocpsoft.prettytime.PrettyTime;
+
+/**
+ * Formats many date and time values relative to one reference time.
+ * <p>
+ * A formatter wraps one PrettyTime instance and memoizes its output by bucket:
+ * values whose distance from the reference time falls in the same bucket are
+ * formatted once and share the resulting string. Buckets are one second wide
+ * below one hour, one minute wide below one day and one hour wide beyond, so
+ * every value in a bucket has the same rounded PrettyTime representation (e.g.
+ * "3 hours ago"), except months and years, which may differ within an hour
+ * of a rounding boundary. A table of hundreds of timestamps therefore computes
+ * only a handful of duration decompositions.
+ * <p>
+ * A formatter is not thread safe. Use {@link #getInstance(FacesContext)} to get
+ * the formatter of the current request, which is relative to the same
+ * reference time as the {@code PrettyDateTimeConverter} in that request.
+ *
+ * @author Key Bridge
+ * @since v5.2.0 created 2021-02-26 to render relative times in bulk
+ */
+public final class RelativeTimeFormatter {
+
+  /**
+   * "never". The representation of a null value.
+   */
+  public static final String NEVER = "never";
+
+  private static final long SECOND = 1000L;
+  private static final long MINUTE = 60 * SECOND;
+  private static final long HOUR = 60 * MINUTE;
+  private static final long DAY = 24 * HOUR;
+
+  /**
+   * The PrettyTime formatter.
+   */
+  private final PrettyTime prettyTime;
+  /**
+   * The reference time, in milliseconds since the epoch.
+   */
+  private final long reference;
+  /**
+   * The formatted strings, by bucket.
+   */
+  private final Map<Long, String> formatted = new HashMap<>();
+
+  /**
+   * Construct a new formatter. The PrettyTime reference time is fixed to the
+   * current time if not already set.
+   *
+   * @param prettyTime the PrettyTime formatter
+   */
+  public RelativeTimeFormatter(PrettyTime prettyTime) {
+    if (prettyTime.getReference() == null) {
+      prettyTime.setReference(new Date());
+    }
+    this.prettyTime = prettyTime;
+    this.reference = prettyTime.getReference().getTime();
+  }
+
+  /**
+   * Get the formatter of the current request in the user locale; that is the
+   * {@code .locale} cookie locale if set, otherwise the view locale.
+   *
+   * @param context the faces context; null to use the current instance
+   * @return the formatter; a new formatter relative to the current time if
+   *         there is no current request
+   */
+  public static RelativeTimeFormatter getInstance(FacesContext context) {
+    FacesContext facesContext = context != null ? context : FacesContext.getCurrentInstance();
+    RequestLocaleContext requestContext = RequestLocaleContext.getInstance(facesContext);
+    if (requestContext == null) {
+      return new RelativeTimeFormatter(new PrettyTime());
+    }
+    Locale locale = requestContext.getLocale();
+    if (locale == null && facesContext.getViewRoot() != null) {
+      locale = facesContext.getViewRoot().getLocale();
+    }
+    return requestContext.getRelativeTimeFormatter(locale);
+  }
+
+  /**
+   * Get the PrettyTime formatter.
+   *
+   * @return the PrettyTime formatter
+   */
+  public PrettyTime getPrettyTime() {
+    return prettyTime;
+  }
+
+  /**
+   * Get the reference time.
+   *
+   * @return the reference time
+   */
+  public Date getReference() {
+    return new Date(reference);
+  }
+
+  /**
+   * Format a value relative to the reference time.
+   *
+   * @param value a ZonedDateTime, LocalDateTime, LocalDate, Instant, Calendar,
+   *              Date or String (of ZonedDateTime)
+   * @return the relative time. e.g. "3 hours ago"; {@value #NEVER} if the value
+   *         is null
+   * @throws IllegalArgumentException if the value is not a date or time
+   * @throws DateTimeException        if a String value is not a valid
+   *                                  ZonedDateTime
+   */
+  public String format(Object value) {
+    if (value == null) {
+      return NEVER;
+    }
+    Date date = toDate(value);
+    return formatted.computeIfAbsent(bucket(date.getTime() - reference), b -> prettyTime.format(date));
+  }
+
+  /**
+   * Format many values relative to the reference time.
+   *
+   * @param values the values. See {@link #format(Object)}.
+   * @return the relative times, in the order of the values; empty if the values
+   *         are null
+   * @throws IllegalArgumentException if a value is not a date or time
+   */
+  public List<String> formatAll(Collection<?> values) {
+    if (values == null) {
+      return Collections.emptyList();
+    }
+    List<String> strings = new ArrayList<>(values.size());
+    for (Object value : values) {
+      strings.add(format(value));
+    }
+    return strings;
+  }
+
+  /**
+   * Get the memo bucket of a distance from the reference time. Positive and
+   * negative distances fall in different buckets.
+   *
+   * @param distance the distance in milliseconds
+   * @return the bucket
+   */
+  static long bucket(long distance) {
+    long magnitude = Math.abs(distance);
+    long width = magnitude < HOUR ? SECOND : magnitude < DAY ? MINUTE : HOUR;
+    /**
+     * Tag the bucket with its width so buckets of different widths never
+     * collide. The tag is never zero, so the sign is kept.
+     */
+    long bucket = magnitude / width * 4 + (width == SECOND ? 1 : width == MINUTE ? 2 : 3);
+    return distance < 0 ? -bucket : bucket;
+  }
+
+  /**
+   * Convert a date or time value to a Date. LocalDateTime is read as UTC and
+   * LocalDate as the current time of day in UTC, as in AbstractConverter.
+   *
+   * @param value the value
+   * @return the date
+   * @throws IllegalArgumentException if the value is not a date or time
+   */
+  static Date toDate(Object value) {
+    if (value instanceof Date) {
+      return (Date) value;
+    } else if (value instanceof Calendar) {
+      return ((Calendar) value).getTime();
+    } else if (value instanceof ZonedDateTime) {
+      return Date.from(((ZonedDateTime) value).toInstant());
+    } else if (value instanceof LocalDateTime) {
+      return Date.from(((LocalDateTime) value).toInstant(ZoneOffset.UTC));
+    } else if (value instanceof LocalDate) {
+      return Date.from(((LocalDate) value).atTime(LocalTime.now()).toInstant(ZoneOffset.UTC));
+    } else if (value instanceof Instant) {
+      return Date.from((Instant) value);
+    } else if (value instanceof String) {
+      return Date.from(ZonedDateTime.parse((String) value).toInstant());
+    }
+    throw new IllegalArgumentException(value + " is not a valid date or time representation.");
+  }
+
+}
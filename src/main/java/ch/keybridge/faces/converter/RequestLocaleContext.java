@@ -0,0 +1,213 @@
+/*
+ *  Copyright (C) 2014 Caulfield IP Holdings (Caulfield) and/or its affiliates.
+ *  All rights reserved. Use is subject to license terms.
+ *
+ *  Software Code is protected by Caulfield Copyrights. Caulfield hereby reserves
+ *  all rights in and to Caulfield Copyrights and no license is granted under
+ *  Caulfield Copyrights in this Software License Agreement. Caulfield generally
+ *  licenses Caulfield Copyrights for commercialization pursuant to the terms of
+ *  either Caulfield's Standard Software Source Code License Agreement or
+ *  Caulfield's Standard Product License Agreement.
+ *
+ *  A copy of either License Agreement can be obtained on request by email from:
+ *  info@caufield.org.
+ */
+package ch.keybridge.faces.converter;
+
+import ch.keybridge.faces.FacesUtil;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import javax.faces.context.FacesContext;
+import javax.servlet.http.Cookie;
+import org.ocpsoft.prettytime.PrettyTime;
+
+/**
+ * Request scoped resolution of the user's {@code .locale} and {@code .tzid}
+ * cookies.
+ * <p>
+ * Converters resolve the locale and time zone of every value they convert. The
+ * cookies are read and parsed once per request and the resulting
+ * {@code Locale} and {@code ZoneId} are held in the FacesContext attributes,
+ * which are discarded when the request completes.
+ * <p>
+ * The context also holds one {@code PrettyTime} formatter per locale, all
+ * relative to the time the request first needed one. PrettyTime is not thread
+ * safe; a request is rendered by one thread.
+ *
+ * @author Key Bridge
+ * @since v5.2.0 created 2021-02-23 to read the locale cookies once per request
+ * @since v5.2.0 hold the PrettyTime formatters of the request 2021-02-25
+ * @since v5.2.0 hold the relative time formatters of the request 2021-02-26
+ */
+final class RequestLocaleContext {
+
+  /**
+   * The FacesContext attribute name.
+   */
+  static final String ATTRIBUTE = RequestLocaleContext.class.getName();
+  /**
+   * ".locale". The locale cookie name.
+   */
+  static final String LOCALE_COOKIE = ".locale";
+  /**
+   * ".tzid". The time zone cookie name.
+   */
+  static final String TZID_COOKIE = ".tzid";
+  /**
+   * "UTC". The time zone used if no time zone cookie is set.
+   */
+  private static final String DEFAULT_TZID = "UTC";
+
+  /**
+   * Reads a cookie value by name; returns null if not set.
+   */
+  private final Function<String, String> cookies;
+  /**
+   * TRUE once the locale cookie has been read.
+   */
+  private boolean localeResolved;
+  /**
+   * The locale cookie value. Null if not set.
+   */
+  private Locale locale;
+  /**
+   * The time zone cookie value, or the default time zone. Null until read.
+   */
+  private ZoneId zoneId;
+  /**
+   * The reference time of relative time formatting. Null until first used.
+   */
+  private Date reference;
+  /**
+   * The PrettyTime formatters, by locale. A page normally renders in one
+   * locale.
+   */
+  private final Map<Locale, PrettyTime> prettyTimes = new HashMap<>(2);
+  /**
+   * The memoizing relative time formatters, by locale.
+   */
+  private final Map<Locale, RelativeTimeFormatter> relativeTimeFormatters = new HashMap<>(2);
+
+  /**
+   * Construct a context that reads the cookies of the current request.
+   */
+  RequestLocaleContext() {
+    this(RequestLocaleContext::readCookie);
+  }
+
+  /**
+   * Construct a context that reads cookie values with the given function.
+   *
+   * @param cookies reads a cookie value by name; returns null if not set
+   */
+  RequestLocaleContext(Function<String, String> cookies) {
+    this.cookies = cookies;
+  }
+
+  /**
+   * Get the context of the current request.
+   *
+   * @param context the faces context; null to use the current instance
+   * @return the request context; null if there is no current request
+   */
+  static RequestLocaleContext getInstance(FacesContext context) {
+    FacesContext facesContext = context != null ? context : FacesContext.getCurrentInstance();
+    if (facesContext == null) {
+      return null;
+    }
+    Map<Object, Object> attributes = facesContext.getAttributes();
+    RequestLocaleContext instance = (RequestLocaleContext) attributes.get(ATTRIBUTE);
+    if (instance == null) {
+      instance = new RequestLocaleContext();
+      attributes.put(ATTRIBUTE, instance);
+    }
+    return instance;
+  }
+
+  /**
+   * Get the locale set in the {@code .locale} cookie.
+   *
+   * @return the cookie locale; null if not set
+   */
+  Locale getLocale() {
+    if (!localeResolved) {
+      String value = cookies.apply(LOCALE_COOKIE);
+      locale = ZoneLocaleCache.findLocale(value);
+      localeResolved = true;
+    }
+    return locale;
+  }
+
+  /**
+   * Get the time zone set in the {@code .tzid} cookie.
+   *
+   * @return the cookie time zone; UTC if not set or not a valid time zone id
+   */
+  ZoneId getZoneId() {
+    if (zoneId == null) {
+      String value = cookies.apply(TZID_COOKIE);
+      zoneId = ZoneLocaleCache.findZoneId(value);
+      if (zoneId == null) {
+        zoneId = ZoneId.of(DEFAULT_TZID);
+      }
+    }
+    return zoneId;
+  }
+
+  /**
+   * Get the reference time of relative time formatting. This is the time the
+   * request first formatted a relative time, so every value rendered in the
+   * request is relative to the same instant.
+   *
+   * @return the reference time
+   * @since v5.2.0 added 2021-02-25
+   */
+  Date getReference() {
+    if (reference == null) {
+      reference = new Date();
+    }
+    return reference;
+  }
+
+  /**
+   * Get the PrettyTime formatter of a locale, relative to the request
+   * reference time.
+   *
+   * @param locale the locale; null for the default locale
+   * @return the formatter, created on first use
+   * @since v5.2.0 added 2021-02-25
+   */
+  PrettyTime getPrettyTime(Locale locale) {
+    return prettyTimes.computeIfAbsent(locale != null ? locale : Locale.getDefault(),
+                                       l -> new PrettyTime(getReference(), l));
+  }
+
+  /**
+   * Get the memoizing relative time formatter of a locale. The formatter wraps
+   * the PrettyTime formatter of the locale.
+   *
+   * @param locale the locale; null for the default locale
+   * @return the formatter, created on first use
+   * @since v5.2.0 added 2021-02-26
+   */
+  RelativeTimeFormatter getRelativeTimeFormatter(Locale locale) {
+    return relativeTimeFormatters.computeIfAbsent(locale != null ? locale : Locale.getDefault(),
+                                                  l -> new RelativeTimeFormatter(getPrettyTime(l)));
+  }
+
+  /**
+   * Read a cookie value from the current request.
+   *
+   * @param name the cookie name
+   * @return the cookie value; null if not set
+   */
+  private static String readCookie(String name) {
+    Cookie cookie = FacesUtil.getCookie(name);
+    return cookie != null ? cookie.getValue() : null;
+  }
+
+}
@@ -30,7 +30,7 @@ public class TimezoneConverter implements Converter {
    */
   @Override
   public Object getAsObject(FacesContext context, UIComponent component, String value) {
-    return value == null ? null : java.util.TimeZone.getTimeZone(value);
+    return ZoneLocaleCache.findTimeZone(value);
   }
 
   /**
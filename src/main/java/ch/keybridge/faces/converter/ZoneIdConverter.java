@@ -15,15 +15,18 @@
 package ch.keybridge.faces.converter;
 
 import java.time.ZoneId;
+import javax.faces.application.FacesMessage;
 import javax.faces.component.UIComponent;
 import javax.faces.context.FacesContext;
 import javax.faces.convert.Converter;
+import javax.faces.convert.ConverterException;
 
 /**
  * JSF converter for java.time.ZoneId
  *
  * @author Key Bridge
  * @since v5.0.0 created 11/29/19 to complete the java.time converter series
+ * @since v5.2.0 share parsed zone instances 2021-02-24
  */
 public class ZoneIdConverter implements Converter {
 
@@ -32,7 +35,14 @@ public class ZoneIdConverter implements Converter {
    */
   @Override
   public Object getAsObject(FacesContext context, UIComponent component, String value) {
-    return value == null ? null : ZoneId.of(value);
+    if (value == null) {
+      return null;
+    }
+    ZoneId zoneId = ZoneLocaleCache.findZoneId(value);
+    if (zoneId == null) {
+      throw new ConverterException(new FacesMessage(value + " is not a valid time zone"));
+    }
+    return zoneId;
   }
 
   /**
@@ -0,0 +1,170 @@
+/*
+ *  Copyright (C) 2014 Caulfield IP Holdings (Caulfield) and/or its affiliates.
+ *  All rights reserved. Use is subject to license terms.
+ *
+ *  Software Code is protected by Caulfield Copyrights. Caulfield hereby reserves
+ *  all rights in and to Caulfield Copyrights and no license is granted under
+ *  Caulfield Copyrights in this Software License Agreement. Caulfield generally
+ *  licenses Caulfield Copyrights for commercialization pursuant to the terms of
+ *  either Caulfield's Standard Software Source Code License Agreement or
+ *  Caulfield's Standard Product License Agreement.
+ *
+ *  A copy of either License Agreement can be obtained on request by email from:
+ *  info@caufield.org.
+ */
+package ch.keybridge.faces.converter;
+
+import java.time.DateTimeException;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Bounded canonicalizing caches for the time zone and locale identifiers
+ * submitted by selectors and read from cookies.
+ * <p>
+ * The same few identifiers are parsed on every request. Each cache returns one
+ * shared instance per identifier. Only recognized identifiers enter these
+ * caches, so arbitrary submitted values cannot displace the valid entries.
+ * <p>
+ * Time zone identifiers that do not parse are remembered in a separate
+ * negative cache, so a malformed cookie value is rejected without constructing
+ * a new exception on every request. Unknown TimeZone and Locale identifiers do
+ * not throw and are not remembered.
+ * <p>
+ * Every cache, including the negative cache, stops accepting new entries once
+ * it holds {@link #MAX_ENTRIES}; existing entries are kept and further
+ * identifiers are simply not cached.
+ *
+ * @author Key Bridge
+ * @since v5.2.0 created 2021-02-24 to stop parsing zone and locale identifiers
+ * per request
+ * @since v5.2.0 do not cache unrecognized identifiers or flush when full;
+ * keep invalid zone identifiers in a separate bounded cache 2021-02-27
+ */
+public final class ZoneLocaleCache {
+
+  /**
+   * 1,024. The maximum number of entries in each cache.
+   */
+  static final int MAX_ENTRIES = 1024;
+  /**
+   * The ISO 639 language codes. Only locales for these languages are cached.
+   */
+  private static final Set<String> LANGUAGES = new HashSet<>(Arrays.asList(Locale.getISOLanguages()));
+
+  /**
+   * The parsed ZoneId instances.
+   */
+  private static final Map<String, Object> ZONE_IDS = new ConcurrentHashMap<>();
+  /**
+   * The time zone identifiers that do not parse.
+   */
+  static final Set<String> INVALID_ZONE_IDS = ConcurrentHashMap.newKeySet();
+  /**
+   * The parsed TimeZone instances. TimeZone.getTimeZone never fails; unknown
+   * identifiers are GMT and are not cached.
+   */
+  private static final Map<String, Object> TIME_ZONES = new ConcurrentHashMap<>();
+  /**
+   * The parsed Locale instances.
+   */
+  private static final Map<String, Object> LOCALES = new ConcurrentHashMap<>();
+
+  private ZoneLocaleCache() {
+  }
+
+  /**
+   * Get the ZoneId for a time zone identifier.
+   *
+   * @param id the time zone identifier. e.g. "America/New_York"
+   * @return the zone; null if the identifier is null or not a valid time zone
+   */
+  public static ZoneId findZoneId(String id) {
+    if (id == null || INVALID_ZONE_IDS.contains(id)) {
+      return null;
+    }
+    ZoneId zoneId = (ZoneId) find(ZONE_IDS, id, ZoneLocaleCache::parseZoneId, parsed -> parsed != null);
+    if (zoneId == null && INVALID_ZONE_IDS.size() < MAX_ENTRIES) {
+      INVALID_ZONE_IDS.add(id);
+    }
+    return zoneId;
+  }
+
+  /**
+   * Get the TimeZone for a time zone identifier.
+   * <p>
+   * TimeZone is mutable, so a copy of the cached instance is returned.
+   *
+   * @param id the time zone identifier. e.g. "America/New_York"
+   * @return the time zone, GMT if the identifier is not recognized; null if
+   *         the identifier is null
+   */
+  public static TimeZone findTimeZone(String id) {
+    TimeZone timeZone = (TimeZone) find(TIME_ZONES, id, TimeZone::getTimeZone,
+                                        tz -> ((TimeZone) tz).getID().equals(id));
+    return timeZone != null ? (TimeZone) timeZone.clone() : null;
+  }
+
+  /**
+   * Get the Locale for a language code.
+   *
+   * @param language the ISO 639 language code. e.g. "en"
+   * @return the locale; null if the language is null
+   */
+  public static Locale findLocale(String language) {
+    return (Locale) find(LOCALES, language, Locale::new,
+                         locale -> LANGUAGES.contains(((Locale) locale).getLanguage()));
+  }
+
+  /**
+   * Clear all caches.
+   */
+  public static void clear() {
+    ZONE_IDS.clear();
+    INVALID_ZONE_IDS.clear();
+    TIME_ZONES.clear();
+    LOCALES.clear();
+  }
+
+  /**
+   * Get a cached value, parsing the identifier on first use. The parsed value
+   * is only cached if it is recognized and the cache is not full.
+   *
+   * @param cache      the cache
+   * @param id         the identifier
+   * @param parser     parses the identifier; returns null if it does not parse
+   * @param recognized tests whether a parsed value may be cached
+   * @return the value; null if the identifier is null or invalid
+   */
+  private static Object find(Map<String, Object> cache, String id, Function<String, Object> parser, Predicate<Object> recognized) {
+    if (id == null) {
+      return null;
+    }
+    Object value = cache.get(id);
+    if (value == null) {
+      value = parser.apply(id);
+      if (recognized.test(value) && cache.size() < MAX_ENTRIES) {
+        cache.putIfAbsent(id, value);
+      }
+    }
+    return value;
+  }
+
+  /**
+   * Parse a time zone identifier.
+   *
+   * @param id the identifier
+   * @return the ZoneId, or null if the identifier does not parse
+   */
+  private static Object parseZoneId(String id) {
+    try {
+      return ZoneId.of(id);
+    } catch (DateTimeException ex) {
+      return null;
+    }
+  }
+
+}
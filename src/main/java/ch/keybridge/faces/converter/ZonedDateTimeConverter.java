@@ -49,6 +49,7 @@ import javax.faces.convert.ConverterException;
  *
  * @author Key Bridge
  * @since v0.11.0 added 12/05/17 from stackoverflow example
+ * @since v5.2.0 use the shared date time formatters 2021-02-22
  * @see
  * <a href="https://stackoverflow.com/questions/34883270/how-to-use-java-time-zoneddatetime-localdatetime-in-pcalendar">Dealing
  * with LocalDateTime in JSF</a>
@@ -92,7 +93,8 @@ public class ZonedDateTimeConverter extends AbstractConverter {
   }
 
   /**
-   * Build a date time formatter.
+   * Get the shared date time formatter for the component pattern, locale and
+   * zone.
    *
    * @param context   the context
    * @param component the parent component
@@ -101,8 +103,8 @@ public class ZonedDateTimeConverter extends AbstractConverter {
   private DateTimeFormatter getFormatter(FacesContext context, UIComponent component) {
     String pattern = getPattern(component);
     return pattern == null
-           ? DateTimeFormatter.ofLocalizedDateTime(FormatStyle.MEDIUM, FormatStyle.SHORT).withLocale(getLocale(context, component)).withZone(getZoneId(component))
-           : DateTimeFormatter.ofPattern(getPattern(component), getLocale(context, component)).withZone(getZoneId(component));
+           ? ofLocalizedDateTime(FormatStyle.MEDIUM, FormatStyle.SHORT, getLocale(context, component), getZoneId(component))
+           : ofPattern(pattern, getLocale(context, component), getZoneId(component));
   }
 
 }
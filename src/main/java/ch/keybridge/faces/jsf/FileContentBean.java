@@ -14,34 +14,36 @@
 package ch.keybridge.faces.jsf;
 
 import ch.keybridge.faces.FacesUtil;
-import com.vladsch.flexmark.ext.gfm.tasklist.TaskListExtension;
-import com.vladsch.flexmark.ext.gitlab.GitLabExtension;
-import com.vladsch.flexmark.ext.macros.MacrosExtension;
-import com.vladsch.flexmark.ext.tables.TablesExtension;
-import com.vladsch.flexmark.html.HtmlRenderer;
-import com.vladsch.flexmark.parser.Parser;
-import com.vladsch.flexmark.util.ast.KeepType;
-import com.vladsch.flexmark.util.ast.Node;
-import com.vladsch.flexmark.util.data.MutableDataSet;
-import java.io.*;
-import java.net.URISyntaxException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.util.Arrays;
-import java.util.logging.Level;
-import java.util.logging.Logger;
-import java.util.stream.Collectors;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import javax.annotation.PostConstruct;
 import javax.servlet.http.Cookie;
 
 /**
- * Request scoped bean to read FIXED content from a project resource file. This
+ * Session scoped bean to read FIXED content from a project resource file. This
  * bean supports both Markdown and XHTML formatted source content. Markdown
- * content is automatically translated to XHTML output. This bean depends upon
- * and uses the {@code LocalBean} to identify which language translation of the
+ * content is automatically translated to XHTML output. This bean reads the
+ * {@code .locale} cookie to identify which language translation of the
  * requested content should be read and returned.
  * <p>
- * Content must be located in the {@code META-INF/content} directory.
+ * This bean only holds the preferred language. Content is read, rendered and
+ * held by the application scoped {@link FileContentStore}, which is shared by
+ * all sessions.
+ * <p>
+ * Pages composed of file content may answer conditional GET requests. e.g.
+ * <pre>
+ * &lt;f:metadata&gt;
+ *   &lt;f:event type="preRenderView" listener="#{fileContent.checkNotModified('about,team')}"/&gt;
+ * &lt;/f:metadata&gt;</pre>
+ * <p>
+ * The entity tag covers only the file content. Do not use it on pages with
+ * per-user output or with a form, whose stateful {@code ViewState} field would
+ * be replayed stale from the browser cache on a 304 (Not Modified) response.
+ * <p>
+ * Content must be located in the {@code /resources/content} directory.
  *
  * @author Key Bridge
  * @since v0.3.0 created 03/26/17 to support translated page content.
@@ -49,41 +51,17 @@ import javax.servlet.http.Cookie;
  * @since v4.0.0 rewrite to use flexmark markdown parser
  * @since v5.1.0 rewrite 2021-01-09 to use faces context, content must be placed
  * in /resources instead of META-INF
+ * @since v5.2.0 use the shared markdown engine 2021-02-02
+ * @since v5.2.0 delegate to the application scoped content store 2021-02-03
+ * @since v5.2.0 add entity tag and modification time 2021-02-10
  */
 public class FileContentBean implements Serializable {
 
-  private static final Logger LOGGER = Logger.getLogger(FileContentBean.class.getName());
-
   /**
    * ".locale" The locale cookie name.
    */
   private static final String LOCALE_COOKIE = ".locale";
 
-  /**
-   * "META-INF/content/". The content directory.
-   */
-  private static final String CONTENT = "/resources/content/";
-  /**
-   * ".md". The markdown file extension.
-   */
-  private static final String MD = ".md";
-  /**
-   * ".json". The JSON file extension.
-   */
-  private static final String JSON = ".json";
-  /**
-   * ".xml". The XML file extension.
-   */
-  private static final String XML = ".xml";
-  /**
-   * ".txt". Alternate markdown file extension.
-   */
-  private static final String TEXT = ".txt";
-  /**
-   * ".xhtml". The HTML file extension.
-   */
-  private static final String XHTML = ".xhtml";
-
   /**
    * "en". The default language.
    */
@@ -94,6 +72,11 @@ public class FileContentBean implements Serializable {
    */
   private String language = ENGLISH;
 
+  /**
+   * The application content store. This is not serialized with the session.
+   */
+  private transient FileContentStore contentStore;
+
   /**
    * Initialize the Locale configuration. If there is no requested locale in the
    * FacesContext then the system default locale is used.
@@ -106,6 +89,24 @@ public class FileContentBean implements Serializable {
     }
   }
 
+  /**
+   * Get the preferred render language.
+   *
+   * @return the ISO 639 language code
+   */
+  public String getLanguage() {
+    return language;
+  }
+
+  /**
+   * Set the preferred render language.
+   *
+   * @param language the ISO 639 language code
+   */
+  public void setLanguage(String language) {
+    this.language = language;
+  }
+
   /**
    * Read and return the FILE based content.
    * <p>
@@ -117,137 +118,110 @@ public class FileContentBean implements Serializable {
    * @return the file content
    */
   public String readContent(String label) {
-    /**
-     * Content type is identified by file extension. We can support file content
-     * in either Markdown (".md") or XHTML (".xhtml") format. The output is
-     * always XHTML, and Markdown content is converted.
-     */
-    try {
-      return readContentFile(label);
-    } catch (IOException | URISyntaxException exception) {
-      LOGGER.log(Level.INFO, "Error reading file \"{0}\".  {1}", new Object[]{label, exception.getMessage()});
-      return null;
-    }
+    return getContentStore().getContent(label, language);
   }
 
   /**
-   * Find the content file name. This method looks for the language translated
-   * file, in both MD or XHTML. If not found then the default file with no
-   * language indicator is returned.
+   * Get an entity tag for the FILE based content. The tag identifies the
+   * content of all indicated labels in the preferred language and changes
+   * whenever any of the content changes.
    *
-   * @param label the file based name without language or extension
-   * @return the language translated file name, if it exists.
+   * @param labels a comma separated list of file based names without language
+   *               or extension
+   * @return the entity tag
    */
-  private String readContentFile(String label) throws URISyntaxException, IOException {
-    /**
-     * Search for a language specific file. If not found then search for a
-     * default file with no language indicator.
-     */
-    for (String extension : new String[]{MD, JSON, XML, TEXT, XHTML}) {
-      String path = CONTENT + label + extension;
-      String pathLocale = CONTENT + label + "." + language + extension;
-      String content = null;
-      if (FacesUtil.getExternalContext().getResource(pathLocale) != null) {
-        content = new BufferedReader(new InputStreamReader(FacesUtil.getExternalContext().getResourceAsStream(pathLocale))).lines().collect(Collectors.joining("\n"));
-      } else if (FacesUtil.getExternalContext().getResource(path) != null) {
-        content = new BufferedReader(new InputStreamReader(FacesUtil.getExternalContext().getResourceAsStream(path))).lines().collect(Collectors.joining("\n"));
-      }
-      if (content != null) {
-        return MD.equals(extension) ? transformMarkdown(content) : content;
-      }
-    }
-    /**
-     * FAIL - NO file found.
-     */
-    throw new IOException(language.toUpperCase() + " file content not found for " + CONTENT + label);
+  public String getETag(String labels) {
+    return new Validators(labels).etag;
+  }
+
+  /**
+   * Get the modification time of the FILE based content. This is the latest
+   * modification time of all indicated labels in the preferred language.
+   *
+   * @param labels a comma separated list of file based names without language
+   *               or extension
+   * @return the modification time in milliseconds since the epoch; zero if not
+   *         known
+   */
+  public long getLastModified(String labels) {
+    return new Validators(labels).lastModified;
   }
 
   /**
-   * Read the content as Markdown, and convert it to XHTML
+   * Set the conditional GET response headers for a page composed of FILE based
+   * content and, if the browser already holds the current page, answer with
+   * 304 (Not Modified). Use as a {@code preRenderView} event listener.
+   * <p>
+   * The entity tag covers only the file content. Pages with per-user output or
+   * a stateful {@code ViewState} field must not use this, or a 304 replays a
+   * stale view state.
    *
-   * @param filename the file base name. The {@code ".md"} extension is added.
-   * @return the file content, converted to XHTML
-   * @throws IOException if the file cannot be opened or read
+   * @param labels a comma separated list of file based names without language
+   *               or extension
+   * @return TRUE if the response was completed with 304 (Not Modified)
+   * @see FacesUtil#checkNotModified(String, long)
    */
-  private String readContentRaw(Path filename) throws IOException {
-    return new String(Files.readAllBytes(filename));
+  public boolean checkNotModified(String labels) {
+    Validators validators = new Validators(labels);
+    return FacesUtil.checkNotModified(validators.etag, validators.lastModified);
   }
 
   /**
-   * Transform the content as Markdown, converting it to XHTML
+   * Get the application content store.
    *
-   * @param filename the file base name. The {@code ".md"} extension is added.
-   * @return the file content, converted to XHTML
-   * @throws IOException if the file cannot be opened or read
+   * @return the application content store
+   */
+  private FileContentStore getContentStore() {
+    if (contentStore == null) {
+      contentStore = FileContentStore.getInstance();
+    }
+    return contentStore;
+  }
+
+  /**
+   * The entity tag and modification time of the content of many labels. Each
+   * label is resolved once and both validators are taken from the same
+   * content.
    */
-  private String transformMarkdown(String markdown) throws IOException {
+  private final class Validators {
+
     /**
-     * Set extensions.
-     * <p>
-     * TablesExtension enables tables using pipes. <br>
-     * GitLabExtension parses and renders GitLab Flavoured Markdown including
-     * math (via Katex) and charts (via Mermaid). <br>
-     * TaskListExtension renders check boxes in lists (cute).
-     * <p>
-     * Macro Definitions are block elements which can contain any markdown
-     * element(s) but can be expanded in a block or inline context, allowing
-     * block elements to be used where only inline elements are permitted by the
-     * syntax. See https://github.com/vsch/flexmark-java/wiki/Macros-Extension
+     * The entity tag.
      */
-    MutableDataSet options = new MutableDataSet();
-    options.set(Parser.EXTENSIONS, Arrays.asList(TablesExtension.create(),
-                                                 GitLabExtension.create(),
-                                                 TaskListExtension.create(),
-                                                 MacrosExtension.create()));
+    final String etag;
     /**
-     * Parser.REFERENCES_KEEP defines the behavior of references when duplicate
-     * references are defined in the source. In this case it is configured to
-     * keep the last value, whereas the default behavior is to keep the first
-     * value.
-     * <p>
-     * TablesExtension added for full GFM table compatibility.
+     * The latest modification time; zero if not known.
      */
-    options.set(Parser.REFERENCES_KEEP, KeepType.LAST)
-      .set(HtmlRenderer.INDENT_SIZE, 2)
-      .set(HtmlRenderer.PERCENT_ENCODE_URLS, true)
-      .set(TablesExtension.CLASS_NAME, "table")
-      .set(TablesExtension.COLUMN_SPANS, false)
-      .set(TablesExtension.APPEND_MISSING_COLUMNS, true)
-      .set(TablesExtension.DISCARD_EXTRA_COLUMNS, true)
-      .set(TablesExtension.HEADER_SEPARATOR_COLUMN_MATCH, true);
+    final long lastModified;
+
     /**
-     * Optionally to convert soft-breaks to hard breaks. Disabled by default.
+     * Resolve the indicated labels in the preferred language.
+     *
+     * @param labels a comma separated list of file based names without
+     *               language or extension
      */
-    //      options.set(HtmlRenderer.SOFT_BREAK, "<br />\n");
-    Parser parser = Parser.builder(options).build();
-    HtmlRenderer renderer = HtmlRenderer.builder(options).build();
-    Node document = parser.parse(markdown);
-    return renderer.render(document);  // The file rendered to HTML
-  }
-
-  /**
-   * @deprecated replaced with Java7 FileReader.
-   *
-   * Internal method to read a text file that is available as a resource stream
-   * from this class.
-   *
-   * @param filename the fully qualified file name
-   * @return the unmodified file content
-   * @throws IOException if the file cannot be opened or read
-   */
-  private String readFile(String filename) throws IOException {
-    InputStream inputStream = getClass().getClassLoader().getResourceAsStream(filename);
-    char[] buffer = new char[2048];
-    Reader reader = new InputStreamReader(inputStream, "UTF-8");
-    StringBuilder sb = new StringBuilder();
-    while (true) {
-      int n = reader.read(buffer);
-      if (n < 0) {
-        break;
+    Validators(String labels) {
+      try {
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        digest.update(language.getBytes(StandardCharsets.UTF_8));
+        long modified = 0;
+        for (String label : labels.split(",")) {
+          FileContentStore.Content content = getContentStore().resolve(label.trim(), language);
+          digest.update((byte) ':');
+          if (content.hash != null) {
+            digest.update(content.hash.getBytes(StandardCharsets.UTF_8));
+          }
+          modified = Math.max(modified, content.lastModified);
+        }
+        this.etag = Base64.getUrlEncoder().withoutPadding().encodeToString(digest.digest());
+        this.lastModified = modified;
+      } catch (NoSuchAlgorithmException exception) {
+        /**
+         * SHA-256 is required of every Java platform implementation.
+         */
+        throw new IllegalStateException(exception);
       }
-      sb.append(buffer, 0, n);
     }
-    return sb.toString();
   }
 
 }
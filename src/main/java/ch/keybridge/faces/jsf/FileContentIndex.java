@@ -0,0 +1,217 @@
+/*
+ * Copyright 2021 Key Bridge. All rights reserved.
+ * Use is subject to license terms.
+ *
+ * Software Code is protected by Copyrights. Author hereby reserves all rights
+ * in and to Copyrights and no license is granted under Copyrights in this
+ * Software License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request from: info@keybridgewireless.com
+ */
+package ch.keybridge.faces.jsf;
+
+import ch.keybridge.faces.markdown.MarkdownCompiler;
+import java.util.*;
+import javax.faces.context.ExternalContext;
+
+/**
+ * Index of the files available in the content directory.
+ * <p>
+ * The index maps each content label to the files available for that label, in
+ * preferred read order. Files are named {@code [label].[extension]} or
+ * {@code [label].[language].[extension]}. Lookups are a single hash probe and
+ * missing labels are answered without any container I/O.
+ * <p>
+ * The read order matches the historical search order: extensions are searched
+ * in the order {@code .md, .json, .xml, .txt, .xhtml}, and for each extension
+ * a language-translated file is preferred over the default file.
+ * <p>
+ * A Markdown file with a sibling {@code .html} file (e.g. produced at build
+ * time by the {@code MarkdownCompiler}) records that file as its pre-rendered
+ * output. The index only records the pairing; the content store decides
+ * whether the pre-rendered file is current.
+ *
+ * @author Key Bridge
+ * @since v5.2.0 created 2021-02-04 to avoid probing the container for content
+ */
+final class FileContentIndex {
+
+  /**
+   * The supported file extensions, in read order.
+   */
+  static final String[] EXTENSIONS = new String[]{".md", ".json", ".xml", ".txt", ".xhtml"};
+
+  /**
+   * The available files, keyed by label and sorted in read order.
+   */
+  private final Map<String, List<ContentFile>> files;
+
+  /**
+   * Construct an index from a set of resource paths.
+   *
+   * @param root  the content directory, with a trailing slash
+   * @param paths the resource paths found in the content directory
+   */
+  FileContentIndex(String root, Collection<String> paths) {
+    Set<String> pathSet = new HashSet<>(paths);
+    Map<String, List<ContentFile>> map = new HashMap<>();
+    for (String path : paths) {
+      String name = path.substring(root.length());
+      for (int rank = 0; rank < EXTENSIONS.length; rank++) {
+        if (name.endsWith(EXTENSIONS[rank])) {
+          String baseName = name.substring(0, name.length() - EXTENSIONS[rank].length());
+          /**
+           * Look for a pre-rendered Markdown file.
+           */
+          String rendered = null;
+          if (".md".equals(EXTENSIONS[rank])) {
+            String renderedPath = root + baseName + MarkdownCompiler.HTML;
+            rendered = pathSet.contains(renderedPath) ? renderedPath : null;
+          }
+          /**
+           * Every file is a default file for its full base name. A file with a
+           * dotted base name may also be a language translation.
+           */
+          add(map, baseName, new ContentFile(path, null, EXTENSIONS[rank], rank, rendered));
+          int dot = baseName.lastIndexOf('.');
+          if (dot > 0 && dot < baseName.length() - 1) {
+            add(map, baseName.substring(0, dot), new ContentFile(path, baseName.substring(dot + 1), EXTENSIONS[rank], rank, rendered));
+          }
+          break;
+        }
+      }
+    }
+    map.values().forEach(list -> list.sort(null));
+    this.files = map;
+  }
+
+  /**
+   * Build an index of the indicated content directory. Sub-directories are
+   * included; their files are labeled with the relative directory path.
+   *
+   * @param externalContext the external context
+   * @param root            the content directory, with a trailing slash
+   * @return a new index
+   */
+  static FileContentIndex build(ExternalContext externalContext, String root) {
+    List<String> paths = new ArrayList<>();
+    collect(externalContext, root, paths);
+    return new FileContentIndex(root, paths);
+  }
+
+  /**
+   * Recursively collect all resource paths in a directory.
+   *
+   * @param externalContext the external context
+   * @param directory       the directory, with a trailing slash
+   * @param paths           the collected paths
+   */
+  private static void collect(ExternalContext externalContext, String directory, List<String> paths) {
+    Set<String> resourcePaths = externalContext.getResourcePaths(directory);
+    if (resourcePaths == null) {
+      return;
+    }
+    for (String resourcePath : resourcePaths) {
+      if (resourcePath.endsWith("/")) {
+        collect(externalContext, resourcePath, paths);
+      } else {
+        paths.add(resourcePath);
+      }
+    }
+  }
+
+  /**
+   * Add a file to the map.
+   *
+   * @param map   the map
+   * @param label the label
+   * @param file  the file
+   */
+  private static void add(Map<String, List<ContentFile>> map, String label, ContentFile file) {
+    map.computeIfAbsent(label, k -> new ArrayList<>(2)).add(file);
+  }
+
+  /**
+   * Find the file to read for the indicated label and language.
+   *
+   * @param label    the file based name without language or extension
+   * @param language the preferred language
+   * @return the file to read; null if no file is available
+   */
+  ContentFile resolve(String label, String language) {
+    List<ContentFile> candidates = files.get(label);
+    if (candidates != null) {
+      for (ContentFile candidate : candidates) {
+        if (candidate.language == null || candidate.language.equals(language)) {
+          return candidate;
+        }
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Get the number of indexed labels.
+   *
+   * @return the number of labels
+   */
+  int size() {
+    return files.size();
+  }
+
+  /**
+   * An indexed content file.
+   */
+  static final class ContentFile implements Comparable<ContentFile> {
+
+    /**
+     * The resource path.
+     */
+    final String path;
+    /**
+     * The language; null for the default file.
+     */
+    final String language;
+    /**
+     * The file extension.
+     */
+    final String extension;
+    /**
+     * The pre-rendered file resource path; null if not available.
+     */
+    final String rendered;
+    /**
+     * The extension read order.
+     */
+    private final int rank;
+
+    ContentFile(String path, String language, String extension, int rank, String rendered) {
+      this.path = path;
+      this.language = language;
+      this.extension = extension;
+      this.rank = rank;
+      this.rendered = rendered;
+    }
+
+    /**
+     * Sort by extension read order, then language-translated files before the
+     * default file.
+     */
+    @Override
+    public int compareTo(ContentFile o) {
+      if (rank != o.rank) {
+        return Integer.compare(rank, o.rank);
+      }
+      return Boolean.compare(language == null, o.language == null);
+    }
+
+    @Override
+    public String toString() {
+      return path;
+    }
+  }
+
+}
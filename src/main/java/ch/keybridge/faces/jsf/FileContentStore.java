@@ -0,0 +1,592 @@
+/*
+ * Copyright 2021 Key Bridge. All rights reserved.
+ * Use is subject to license terms.
+ *
+ * Software Code is protected by Copyrights. Author hereby reserves all rights
+ * in and to Copyrights and no license is granted under Copyrights in this
+ * Software License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request from: info@keybridgewireless.com
+ */
+package ch.keybridge.faces.jsf;
+
+import ch.keybridge.faces.FacesUtil;
+import ch.keybridge.faces.markdown.MarkdownEngine;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.faces.application.ProjectStage;
+import javax.faces.context.FacesContext;
+
+/**
+ * Application scoped store of FIXED content read from project resource files.
+ * <p>
+ * Each content file is read once, converted to XHTML (Markdown content is
+ * rendered) and kept in memory for all sessions. Available content files are
+ * indexed when the store is created, so the file for a {@code (label,
+ * language)} pair is found, and missing labels are answered, without touching
+ * the container. Content is held by file, not by the requested language, so
+ * unknown languages share the default file and cannot grow the store.
+ * Markdown pre-rendered at build time by the {@code MarkdownCompiler} is
+ * served without conversion, unless the pre-rendered file is older than its
+ * Markdown source.
+ * <p>
+ * In the {@code Development} project stage the content directory is watched
+ * and the store is cleared whenever a content file changes, and pre-rendered
+ * Markdown is ignored, so edits are shown immediately. In all other stages
+ * content is held until the application is stopped.
+ * <p>
+ * The memory held by rendered content is limited by a byte budget, which may
+ * be set with the {@value #CONTENT_CACHE_BYTES} context parameter. Once the
+ * budget is spent additional content is read and rendered on each request.
+ * <p>
+ * Each resolved content item carries a hash of its rendered text and the
+ * modification time of its source file. These are stable for the life of the
+ * held content and may be used to answer conditional GET requests.
+ * <p>
+ * Content files are read as UTF-8. Read count, bytes read and read time are
+ * recorded and may be monitored with {@link #getReadCount()},
+ * {@link #getReadBytes()} and {@link #getReadNanos()}.
+ * <p>
+ * Content must be located in the {@code /resources/content} directory.
+ *
+ * @author Key Bridge
+ * @since v5.2.0 created 2021-02-03 to share rendered content across sessions
+ */
+public class FileContentStore {
+
+  private static final Logger LOGGER = Logger.getLogger(FileContentStore.class.getName());
+
+  /**
+   * "fileContentStore". The managed bean name, as configured in
+   * faces-config.xml.
+   */
+  public static final String BEAN_NAME = "fileContentStore";
+  /**
+   * "ch.keybridge.faces.CONTENT_CACHE_BYTES". Context parameter to set the
+   * maximum memory, in bytes, used to hold rendered content.
+   */
+  public static final String CONTENT_CACHE_BYTES = "ch.keybridge.faces.CONTENT_CACHE_BYTES";
+  /**
+   * 16,777,216 (16 MB). The default rendered content byte budget.
+   */
+  private static final long DEFAULT_CACHE_BYTES = 16 * 1024 * 1024;
+
+  /**
+   * "/resources/content/". The content directory.
+   */
+  private static final String CONTENT = "/resources/content/";
+  /**
+   * ".md". The markdown file extension.
+   */
+  private static final String MD = ".md";
+  /**
+   * 8,192 (8K). The initial stream read size.
+   */
+  private static final int BUFFER_SIZE = 8 * 1024;
+
+  /**
+   * Marker for content that was not found.
+   */
+  private static final Content MISSING = new Content(null, 0);
+
+  /**
+   * The resolved content, keyed by content file resource path. Files that
+   * cannot be read are recorded with the {@code MISSING} marker.
+   */
+  private final Map<String, Content> contents;
+  /**
+   * The maximum number of bytes to hold in the contents map.
+   */
+  private final long maximumBytes;
+  /**
+   * The approximate number of bytes held in the contents map.
+   */
+  private final AtomicLong bytes;
+  /**
+   * The number of content files read.
+   */
+  private final AtomicLong readCount;
+  /**
+   * The total number of content file bytes read.
+   */
+  private final AtomicLong readBytes;
+  /**
+   * The total time spent reading content files, in nanoseconds.
+   */
+  private final AtomicLong readNanos;
+  /**
+   * The index of available content files. Built on construction (i.e. at
+   * application start) and rebuilt after the store is cleared.
+   */
+  private volatile FileContentIndex index;
+  /**
+   * The content directory watcher. Only active in the Development project
+   * stage.
+   */
+  private FileContentWatcher watcher;
+  /**
+   * TRUE in the Development project stage. Pre-rendered Markdown is ignored.
+   */
+  private boolean development;
+
+  /**
+   * Construct a new content store. The byte budget is read from the
+   * {@value #CONTENT_CACHE_BYTES} context parameter, if set.
+   */
+  public FileContentStore() {
+    this.contents = new ConcurrentHashMap<>();
+    this.bytes = new AtomicLong();
+    this.readCount = new AtomicLong();
+    this.readBytes = new AtomicLong();
+    this.readNanos = new AtomicLong();
+    this.maximumBytes = readMaximumBytes();
+    try {
+      this.index = FileContentIndex.build(FacesUtil.getExternalContext(), CONTENT);
+      LOGGER.log(Level.INFO, "Indexed {0} content labels in {1}", new Object[]{index.size(), CONTENT});
+    } catch (Exception exception) {
+      /**
+       * No faces context is available. The index is built on first use.
+       */
+      LOGGER.log(Level.FINE, "Deferred content index.  {0}", exception.getMessage());
+    }
+  }
+
+  /**
+   * Start watching the content directory for changes when the application is
+   * in the {@code Development} project stage. Content is otherwise held until
+   * the application is stopped.
+   */
+  @PostConstruct
+  protected void postConstruct() {
+    try {
+      if (ProjectStage.Development.equals(FacesUtil.getProjectStage())) {
+        development = true;
+        String realPath = FacesUtil.getExternalContext().getRealPath(CONTENT);
+        if (realPath != null && Files.isDirectory(Paths.get(realPath))) {
+          watcher = new FileContentWatcher(Paths.get(realPath), this::clear);
+        }
+      }
+    } catch (Exception exception) {
+      LOGGER.log(Level.WARNING, "Unable to watch content directory.  {0}", exception.getMessage());
+    }
+  }
+
+  /**
+   * Stop watching the content directory.
+   */
+  @PreDestroy
+  protected void preDestroy() {
+    if (watcher != null) {
+      try {
+        watcher.close();
+      } catch (IOException exception) {
+        LOGGER.log(Level.FINE, "Error closing content watcher.  {0}", exception.getMessage());
+      }
+      watcher = null;
+    }
+  }
+
+  /**
+   * Get the application scoped content store. The store is created by the
+   * faces runtime on first use.
+   *
+   * @return the application content store
+   */
+  public static FileContentStore getInstance() {
+    FacesContext context = FacesUtil.getContext();
+    return context.getApplication().evaluateExpressionGet(context, "#{" + BEAN_NAME + "}", FileContentStore.class);
+  }
+
+  /**
+   * Read the byte budget from the context init parameters.
+   *
+   * @return the maximum number of bytes to hold in memory
+   */
+  private static long readMaximumBytes() {
+    try {
+      String value = FacesUtil.getInitPrameter(CONTENT_CACHE_BYTES);
+      if (value != null && !value.trim().isEmpty()) {
+        return Long.parseLong(value.trim());
+      }
+    } catch (Exception exception) {
+      LOGGER.log(Level.WARNING, "Invalid {0} value.  {1}", new Object[]{CONTENT_CACHE_BYTES, exception.getMessage()});
+    }
+    return DEFAULT_CACHE_BYTES;
+  }
+
+  /**
+   * Get the XHTML content for the indicated label and language.
+   * <p>
+   * If a language-translated file is not available then the default file with
+   * no language indicator is provided.
+   *
+   * @param label    the file based name without language or extension
+   * @param language the preferred language
+   * @return the XHTML content; null if not found
+   */
+  public String getContent(String label, String language) {
+    return resolve(label, language).text;
+  }
+
+  /**
+   * Get a hash of the XHTML content for the indicated label and language. The
+   * hash changes whenever the content changes and is suitable for use as an
+   * HTTP entity tag.
+   *
+   * @param label    the file based name without language or extension
+   * @param language the preferred language
+   * @return a URL-safe Base64 encoded SHA-256 hash; null if not found
+   */
+  public String getHash(String label, String language) {
+    return resolve(label, language).hash;
+  }
+
+  /**
+   * Get the modification time of the file providing the content for the
+   * indicated label and language.
+   *
+   * @param label    the file based name without language or extension
+   * @param language the preferred language
+   * @return the modification time in milliseconds since the epoch; zero if not
+   *         found or not known
+   */
+  public long getLastModified(String label, String language) {
+    return resolve(label, language).lastModified;
+  }
+
+  /**
+   * Get the content for the indicated label and language, reading it if
+   * required.
+   *
+   * @param label    the file based name without language or extension
+   * @param language the preferred language
+   * @return the content; the {@code MISSING} marker if not found
+   */
+  Content resolve(String label, String language) {
+    FileContentIndex.ContentFile file = getIndex().resolve(label, language);
+    if (file == null) {
+      LOGGER.log(Level.FINE, "{0} file content not found for {1}{2}", new Object[]{language, CONTENT, label});
+      return MISSING;
+    }
+    String key = file.path;
+    Content content = contents.get(key);
+    if (content == null) {
+      content = readContent(file);
+      /**
+       * Unreadable content has no weight; the number of keys is limited by the
+       * index. Found content is only held if it fits the byte budget.
+       */
+      long weight = content.text == null ? 0 : 2L * content.text.length();
+      if (bytes.addAndGet(weight) <= maximumBytes) {
+        Content previous = contents.putIfAbsent(key, content);
+        if (previous != null) {
+          bytes.addAndGet(-weight);
+          return previous;
+        }
+      } else {
+        bytes.addAndGet(-weight);
+        LOGGER.log(Level.FINE, "Content cache byte budget exceeded. Not caching {0}", key);
+      }
+    }
+    return content;
+  }
+
+  /**
+   * Discard all resolved content and the content index. The index is rebuilt
+   * and content is read again on next request.
+   */
+  public void clear() {
+    index = null;
+    contents.clear();
+    bytes.set(0);
+  }
+
+  /**
+   * Get the content index, building it if required.
+   *
+   * @return the content index
+   */
+  private FileContentIndex getIndex() {
+    FileContentIndex current = index;
+    if (current == null) {
+      current = FileContentIndex.build(FacesUtil.getExternalContext(), CONTENT);
+      index = current;
+    }
+    return current;
+  }
+
+  /**
+   * Get the approximate number of bytes held by resolved content.
+   *
+   * @return the approximate memory used
+   */
+  public long getBytes() {
+    return bytes.get();
+  }
+
+  /**
+   * Get the maximum number of bytes held by resolved content.
+   *
+   * @return the byte budget
+   */
+  public long getMaximumBytes() {
+    return maximumBytes;
+  }
+
+  /**
+   * Get the number of content files read.
+   *
+   * @return the read count
+   */
+  public long getReadCount() {
+    return readCount.get();
+  }
+
+  /**
+   * Get the total number of content file bytes read.
+   *
+   * @return the bytes read
+   */
+  public long getReadBytes() {
+    return readBytes.get();
+  }
+
+  /**
+   * Get the total time spent reading content files.
+   *
+   * @return the read time, in nanoseconds
+   */
+  public long getReadNanos() {
+    return readNanos.get();
+  }
+
+  /**
+   * Get the average time spent reading a content file.
+   *
+   * @return the average read time, in nanoseconds; zero if nothing was read
+   */
+  public long getAverageReadNanos() {
+    long count = readCount.get();
+    return count == 0 ? 0 : readNanos.get() / count;
+  }
+
+  /**
+   * Read and return the FILE based content.
+   * <p>
+   * Content type is identified by file extension. We can support file content
+   * in either Markdown (".md") or XHTML (".xhtml") format. The output is always
+   * XHTML, and Markdown content is converted.
+   *
+   * @param file the indexed content file
+   * @return the file content; the {@code MISSING} marker if not readable
+   */
+  private Content readContent(FileContentIndex.ContentFile file) {
+    try {
+      long lastModified = readLastModified(file.path);
+      /**
+       * Prefer pre-rendered Markdown, which needs no conversion, unless it is
+       * older than its source; i.e. stale or not produced by the compiler. In
+       * development the source is always rendered so that edits are shown.
+       */
+      if (file.rendered != null && !development) {
+        long renderedModified = readLastModified(file.rendered);
+        if (renderedModified >= lastModified) {
+          return new Content(readFile(file.rendered), renderedModified);
+        }
+        LOGGER.log(Level.WARNING, "Pre-rendered \"{0}\" is older than \"{1}\". Rendering the Markdown source.", new Object[]{file.rendered, file.path});
+      }
+      String content = readFile(file.path);
+      return new Content(MD.equals(file.extension) ? transformMarkdown(content) : content, lastModified);
+    } catch (IOException exception) {
+      LOGGER.log(Level.INFO, "Error reading file \"{0}\".  {1}", new Object[]{file.path, exception.getMessage()});
+      return MISSING;
+    }
+  }
+
+  /**
+   * Read the modification time of a content file.
+   *
+   * @param path the resource path
+   * @return the modification time in milliseconds since the epoch; zero if not
+   *         known
+   */
+  private static long readLastModified(String path) {
+    try {
+      String realPath = FacesUtil.getExternalContext().getRealPath(path);
+      if (realPath != null && Files.isRegularFile(Paths.get(realPath))) {
+        return Files.getLastModifiedTime(Paths.get(realPath)).toMillis();
+      }
+      URL url = FacesUtil.getExternalContext().getResource(path);
+      return url == null ? 0 : url.openConnection().getLastModified();
+    } catch (IOException exception) {
+      LOGGER.log(Level.FINE, "Unable to read modification time of \"{0}\".  {1}", new Object[]{path, exception.getMessage()});
+      return 0;
+    }
+  }
+
+  /**
+   * Read a content file as UTF-8 text.
+   * <p>
+   * If the resource resolves to a file on disk (i.e. an exploded WAR) it is
+   * read in a single call. Otherwise the resource stream is read in bulk. The
+   * bytes are decoded once; no per-line strings are created.
+   * <p>
+   * Line terminators are normalized as by a line reader: CRLF and CR become LF
+   * and a trailing line terminator is removed.
+   *
+   * @param path the resource path
+   * @return the file content
+   * @throws IOException if the file cannot be opened or read
+   */
+  private String readFile(String path) throws IOException {
+    long start = System.nanoTime();
+    byte[] data;
+    String realPath = FacesUtil.getExternalContext().getRealPath(path);
+    Path file = realPath == null ? null : Paths.get(realPath);
+    if (file != null && Files.isRegularFile(file)) {
+      data = Files.readAllBytes(file);
+    } else {
+      try (InputStream inputStream = FacesUtil.getExternalContext().getResourceAsStream(path)) {
+        if (inputStream == null) {
+          throw new IOException("Resource not available");
+        }
+        data = readAllBytes(inputStream);
+      }
+    }
+    readCount.incrementAndGet();
+    readBytes.addAndGet(data.length);
+    readNanos.addAndGet(System.nanoTime() - start);
+    return normalizeLines(new String(data, StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Normalize line terminators. CRLF and CR are replaced with LF and a single
+   * trailing line terminator is removed. The text is returned unchanged if it
+   * needs no normalization.
+   *
+   * @param text the text
+   * @return the normalized text
+   */
+  static String normalizeLines(String text) {
+    int length = text.length();
+    if (length > 0 && text.charAt(length - 1) == '\n') {
+      length -= length > 1 && text.charAt(length - 2) == '\r' ? 2 : 1;
+    } else if (length > 0 && text.charAt(length - 1) == '\r') {
+      length--;
+    }
+    if (text.indexOf('\r') < 0 || text.indexOf('\r') >= length) {
+      return length == text.length() ? text : text.substring(0, length);
+    }
+    StringBuilder builder = new StringBuilder(length);
+    for (int i = 0; i < length; i++) {
+      char c = text.charAt(i);
+      if (c == '\r') {
+        builder.append('\n');
+        if (i + 1 < length && text.charAt(i + 1) == '\n') {
+          i++;
+        }
+      } else {
+        builder.append(c);
+      }
+    }
+    return builder.toString();
+  }
+
+  /**
+   * Read all remaining bytes from an input stream.
+   *
+   * @param inputStream the input stream
+   * @return the bytes read
+   * @throws IOException if the stream cannot be read
+   */
+  static byte[] readAllBytes(InputStream inputStream) throws IOException {
+    /**
+     * Read directly into the result array, growing it as required, rather
+     * than copying through a separate read buffer.
+     */
+    byte[] data = new byte[Math.max(BUFFER_SIZE, inputStream.available())];
+    int length = 0;
+    int read;
+    while ((read = inputStream.read(data, length, data.length - length)) != -1) {
+      length += read;
+      if (length == data.length) {
+        data = Arrays.copyOf(data, data.length * 2);
+      }
+    }
+    return length == data.length ? data : Arrays.copyOf(data, length);
+  }
+
+  /**
+   * Transform the content as Markdown, converting it to XHTML. Content is
+   * rendered directly since the rendered output is held by this store.
+   *
+   * @param markdown the Markdown content
+   * @return the content, converted to XHTML
+   */
+  private String transformMarkdown(String markdown) {
+    return MarkdownEngine.content().toHtmlUncached(markdown);
+  }
+
+  /**
+   * Resolved content with its validators.
+   */
+  static final class Content {
+
+    /**
+     * The XHTML content; null if missing.
+     */
+    final String text;
+    /**
+     * A hash of the XHTML content; null if missing.
+     */
+    final String hash;
+    /**
+     * The source file modification time; zero if not known.
+     */
+    final long lastModified;
+
+    Content(String text, long lastModified) {
+      this.text = text;
+      this.hash = text == null ? null : hash(text);
+      this.lastModified = lastModified;
+    }
+
+    /**
+     * Build a SHA-256 hash of the content text.
+     *
+     * @param text the content text
+     * @return a URL-safe Base64 encoded hash of the text
+     */
+    private static String hash(String text) {
+      try {
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(digest.digest(text.getBytes(StandardCharsets.UTF_8)));
+      } catch (NoSuchAlgorithmException exception) {
+        /**
+         * SHA-256 is required of every Java platform implementation.
+         */
+        throw new IllegalStateException(exception);
+      }
+    }
+  }
+
+}
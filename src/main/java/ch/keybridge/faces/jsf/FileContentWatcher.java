@@ -0,0 +1,129 @@
+/*
+ * Copyright 2021 Key Bridge. All rights reserved.
+ * Use is subject to license terms.
+ *
+ * Software Code is protected by Copyrights. Author hereby reserves all rights
+ * in and to Copyrights and no license is granted under Copyrights in this
+ * Software License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request from: info@keybridgewireless.com
+ */
+package ch.keybridge.faces.jsf;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+import static java.nio.file.StandardWatchEventKinds.*;
+
+/**
+ * Development helper that watches the content directory and invalidates the
+ * content store when any file is created, modified or deleted.
+ * <p>
+ * The watcher blocks on a {@code WatchService} in a single daemon thread, so
+ * there is no polling cost. It is only started by the {@code FileContentStore}
+ * when the application runs in the {@code Development} project stage.
+ *
+ * @author Key Bridge
+ * @since v5.2.0 created 2021-02-06 to hot-reload content during development
+ */
+final class FileContentWatcher implements Runnable, Closeable {
+
+  private static final Logger LOGGER = Logger.getLogger(FileContentWatcher.class.getName());
+
+  /**
+   * The watched directory.
+   */
+  private final Path directory;
+  /**
+   * The action to run when the directory content changes.
+   */
+  private final Runnable onChange;
+  /**
+   * The file system watch service.
+   */
+  private final WatchService watchService;
+  /**
+   * The watcher thread.
+   */
+  private final Thread thread;
+
+  /**
+   * Construct and start a new watcher.
+   *
+   * @param directory the directory to watch, including sub-directories
+   * @param onChange  the action to run when the directory content changes
+   * @throws IOException if the directory cannot be watched
+   */
+  FileContentWatcher(Path directory, Runnable onChange) throws IOException {
+    this.directory = directory;
+    this.onChange = onChange;
+    this.watchService = directory.getFileSystem().newWatchService();
+    register(directory);
+    this.thread = new Thread(this, "FileContentWatcher");
+    this.thread.setDaemon(true);
+    this.thread.start();
+  }
+
+  /**
+   * Register a directory and all of its sub-directories with the watch
+   * service.
+   *
+   * @param root the directory
+   * @throws IOException if a directory cannot be registered
+   */
+  private void register(Path root) throws IOException {
+    try (Stream<Path> stream = Files.walk(root)) {
+      for (Path path : (Iterable<Path>) stream.filter(Files::isDirectory)::iterator) {
+        path.register(watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE);
+      }
+    }
+  }
+
+  /**
+   * Wait for file system events. Each batch of events triggers one change
+   * notification. New sub-directories are registered as they are created.
+   */
+  @Override
+  public void run() {
+    LOGGER.log(Level.INFO, "Watching {0} for content changes", directory);
+    try {
+      while (!Thread.currentThread().isInterrupted()) {
+        WatchKey key = watchService.take();
+        for (WatchEvent<?> event : key.pollEvents()) {
+          if (event.kind() == ENTRY_CREATE) {
+            Path created = ((Path) key.watchable()).resolve((Path) event.context());
+            if (Files.isDirectory(created)) {
+              register(created);
+            }
+          }
+        }
+        key.reset();
+        LOGGER.log(Level.FINE, "Content changed in {0}", key.watchable());
+        onChange.run();
+      }
+    } catch (InterruptedException | ClosedWatchServiceException exception) {
+      // closed
+    } catch (IOException exception) {
+      LOGGER.log(Level.WARNING, "Content watcher stopped.  {0}", exception.getMessage());
+    }
+  }
+
+  /**
+   * Stop watching.
+   *
+   * @throws IOException if the watch service cannot be closed
+   */
+  @Override
+  public void close() throws IOException {
+    thread.interrupt();
+    watchService.close();
+  }
+
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2021 Key Bridge. All rights reserved.
+ * Use is subject to license terms.
+ *
+ * Software Code is protected by Copyrights. Author hereby reserves all rights
+ * in and to Copyrights and no license is granted under Copyrights in this
+ * Software License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request from: info@keybridgewireless.com
+ */
+package ch.keybridge.faces.jsf;
+
+import ch.keybridge.faces.converter.RelativeTimeFormatter;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Request scoped managed bean to render relative times, e.g. "3 hours ago".
+ * <p>
+ * All values rendered in a request are relative to one reference time and share
+ * the memoized output of the {@code prettyDateTimeConverter}. Use the bean in
+ * place of the converter to render a column of timestamps, or to format a whole
+ * collection at once.
+ * <p>
+ * &lt;h:outputText value="#{prettyTime.format(row.updated)}"/&gt;
+ * <p>
+ * &lt;ui:repeat value="#{prettyTime.formatAll(bean.updates)}" var="ago"&gt;
+ *
+ * @author Key Bridge
+ * @since v5.2.0 created 2021-02-26 to render relative times in bulk
+ */
+public class PrettyTimeBean {
+
+  /**
+   * The relative time formatter of the request. Null until first used.
+   */
+  private RelativeTimeFormatter formatter;
+
+  /**
+   * Format a value relative to the request reference time.
+   *
+   * @param value a ZonedDateTime, LocalDateTime, LocalDate, Instant, Calendar,
+   *              Date or String (of ZonedDateTime)
+   * @return the relative time; "never" if the value is null
+   */
+  public String format(Object value) {
+    return getFormatter().format(value);
+  }
+
+  /**
+   * Format many values relative to the request reference time.
+   *
+   * @param values the values
+   * @return the relative times, in the order of the values
+   */
+  public List<String> formatAll(Collection<?> values) {
+    return getFormatter().formatAll(values);
+  }
+
+  /**
+   * Get the request reference time.
+   *
+   * @return the reference time
+   */
+  public Date getReference() {
+    return getFormatter().getReference();
+  }
+
+  /**
+   * Get the relative time formatter of the request.
+   *
+   * @return the formatter
+   */
+  private RelativeTimeFormatter getFormatter() {
+    if (formatter == null) {
+      formatter = RelativeTimeFormatter.getInstance(null);
+    }
+    return formatter;
+  }
+
+}
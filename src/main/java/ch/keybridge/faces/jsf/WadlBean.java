@@ -14,10 +14,16 @@
 package ch.keybridge.faces.jsf;
 
 import ch.keybridge.faces.FacesUtil;
-import ch.keybridge.faces.converter.MarkdownConverter;
+import ch.keybridge.faces.markdown.MarkdownEngine;
 import ch.keybridge.faces.wadl.AbstractWadlBean;
+import ch.keybridge.faces.wadl.WadlLabelCache;
+import ch.keybridge.faces.wadl.WadlSnapshot;
+import java.util.Locale;
+import java.util.ResourceBundle;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import javax.faces.application.ProjectStage;
+import javax.faces.context.FacesContext;
 
 /**
  * WADL label provider bean that searches in the wadl.properties file.
@@ -25,30 +31,35 @@ import java.util.logging.Logger;
  * @author Key Bridge
  * @since v0.8.4 added 05/01/17
  * @since v4.0.0 moved from web-app-template 0.2.2 to faces-common
+ * @since v5.2.0 use the shared markdown engine 2021-02-02
+ * @since v5.2.0 use the application WADL registry 2021-02-12
+ * @since v5.2.0 cache resolved labels per locale 2021-02-17
+ * @since v5.2.0 do not cache labels in the Development stage 2021-02-27
  */
 public class WadlBean extends AbstractWadlBean {
 
   private static final Logger LOG = Logger.getLogger(WadlBean.class.getName());
 
   /**
-   * A markdown to HTML text converter.
+   * "wadl". The resource bundle variable name containing the WADL labels.
    */
-  private final MarkdownConverter markdownConverter;
+  private static final String BUNDLE = "wadl";
+
+  /**
+   * The application label cache. Null if the registry is not available.
+   */
+  private transient WadlLabelCache labelCache;
 
   /**
    * WadlBean is 'request' scoped in the faces-config.xml file. A new bean is
-   * instantiated from each page view. Load the WADL from the 'api' path. With
-   * the `faces-config` strategy the `@PostConstruct` annotation is not scanned,
-   * so we must initialize the bean in the constructor.
+   * instantiated from each page view. With the `faces-config` strategy the
+   * `@PostConstruct` annotation is not scanned, so we must initialize the bean
+   * in the constructor.
    * <p>
-   * Load the WADL from the 'api' path.
+   * The WADL is provided by the application scoped {@link WadlRegistry}, which
+   * downloads it once and shares it between requests.
    */
   public WadlBean() {
-    /**
-     * Initialize a MarkdownConverter instance. This is used to convert MD
-     * labels and descriptions.
-     */
-    this.markdownConverter = new MarkdownConverter();
     /**
      * Autoload the WADL file if the rest context is "api", "rest", "resource",
      * "resources", "webresources". Else must directly call
@@ -66,47 +77,19 @@ public class WadlBean extends AbstractWadlBean {
    * {@inheritDoc}
    * <p>
    * Search includes the various common rest-contexts such as: ["api", "rest",
-   * "resource", "resources", "webresources"]
+   * "resource", "resources", "webresources"]. The search is performed once by
+   * the application scoped {@link WadlRegistry}; this bean adopts the shared
+   * WADL snapshot.
    */
   @Override
   public final void autoload() {
-    /**
-     * Use the current context path (i.e. the application context root). This is
-     * copied from FacesUtil.getContextPath() and excludes common port numbers
-     * from the URI when present.
-     * <p>
-     * Try to load the WADL from various commonly used JAXRS contexts. If the
-     * application declares a custom context is must be specified. Try to
-     * connect to the localhost. If that fails then try the currently declared
-     * URL host.
-     */
-    String contextPath = FacesUtil.getContextPath();
-    for (String restContext : new String[]{"api", "rs", "rest", "resource", "resources", "webresources", "api/1", "api/2", "api/3", "api/4"}) {
-      load(buildWadlUrl(contextPath, restContext));
-      if (wadl != null) {
-        break;
-      }
+    WadlRegistry registry = WadlRegistry.getInstance();
+    labelCache = registry.getLabelCache();
+    WadlSnapshot snapshot = registry.getSnapshot();
+    if (snapshot == null) {
+      LOG.log(Level.FINE, "WadlBean autoload: WADL file not available.");
     }
-    if (wadl == null) {
-      LOG.log(Level.INFO, "WadlBean autoload error downloading WADL file.");
-    }
-  }
-
-  /**
-   * Build a URL to the local WADL file.
-   *
-   * @param contextPath the application context path
-   * @param restContext the application REST context
-   * @return the WADL location.
-   */
-  private String buildWadlUrl(String contextPath, String restContext) {
-    return new StringBuilder()
-      .append(contextPath)
-      .append(contextPath.endsWith("/") ? "" : "/")
-      .append(restContext)
-      .append(restContext.endsWith("/") ? "" : "/")
-      .append("application.wadl")
-      .toString();
+    adopt(snapshot);
   }
 
   /**
@@ -126,16 +109,7 @@ public class WadlBean extends AbstractWadlBean {
    */
   @Override
   public String getLabel(String key) {
-    try {
-      String response = FacesUtil.evaluateExpression("#{wadl." + key + "}");
-      if (response.startsWith("???")) {
-        LOG.log(Level.INFO, "wadlLabelProvider label: {0}", key);
-      }
-      return response.startsWith("???") ? null : toHtml(response);
-    } catch (Exception e) {
-      LOG.log(Level.INFO, "{0} label not found.", key);
-      return null;
-    }
+    return resolve(key);
   }
 
   /**
@@ -145,16 +119,7 @@ public class WadlBean extends AbstractWadlBean {
    */
   @Override
   public String getLabel(String method, String parameter) {
-    try {
-      String response = FacesUtil.evaluateExpression("#{wadl." + method + "_" + parameter + "}");
-      if (response.startsWith("???")) {
-        LOG.log(Level.INFO, "wadlLabelProvider label: {0}_{1}", new Object[]{method, parameter});
-      }
-      return response.startsWith("???") ? null : toHtml(response);
-    } catch (Exception e) {
-      LOG.log(Level.INFO, "{0}-{1} label not found.", new Object[]{method, parameter});
-      return null;
-    }
+    return resolve(method + "_" + parameter);
   }
 
   /**
@@ -164,26 +129,65 @@ public class WadlBean extends AbstractWadlBean {
    */
   @Override
   public String getMethodDescription(String method) {
+    return resolve(method);
+  }
+
+  /**
+   * Get a label as HTML from the application label cache, resolving it for the
+   * current view locale and {@value #BUNDLE} bundle if required.
+   * <p>
+   * Labels are not cached in the {@code Development} project stage, so edits
+   * to the bundle are shown immediately.
+   *
+   * @param key the bundle key
+   * @return the label HTML; null if not found
+   */
+  private String resolve(String key) {
+    FacesContext context = FacesContext.getCurrentInstance();
+    if (labelCache == null || context == null || context.isProjectStage(ProjectStage.Development)) {
+      return lookup(key);
+    }
+    Locale locale = context.getViewRoot() != null
+                    ? context.getViewRoot().getLocale()
+                    : Locale.getDefault();
+    return labelCache.get(locale, context.getApplication().getResourceBundle(context, BUNDLE), key, this::lookup);
+  }
+
+  /**
+   * Read a label from the {@value #BUNDLE} resource bundle and convert it to
+   * HTML. The bundle is read directly if it is registered with the application,
+   * otherwise the label is evaluated as an expression.
+   *
+   * @param key the bundle key
+   * @return the label HTML; null if not found
+   */
+  private String lookup(String key) {
     try {
-      String response = FacesUtil.evaluateExpression("#{wadl." + method + "}");
-      if (response.startsWith("???")) {
-        LOG.log(Level.INFO, "wadlLabelProvider description: {0}", method);
+      FacesContext context = FacesContext.getCurrentInstance();
+      ResourceBundle bundle = context.getApplication().getResourceBundle(context, BUNDLE);
+      String response = bundle != null
+                        ? (bundle.containsKey(key) ? bundle.getString(key) : null)
+                        : FacesUtil.evaluateExpression("#{" + BUNDLE + "." + key + "}");
+      if (response == null || response.startsWith("???")) {
+        LOG.log(Level.INFO, "wadlLabelProvider label: {0}", key);
+        return null;
       }
-      return response.startsWith("???") ? null : toHtml(response);
+      return toHtml(response);
     } catch (Exception e) {
-      LOG.log(Level.INFO, "{0} description not found.", method);
+      LOG.log(Level.INFO, "{0} label not found.", key);
       return null;
     }
   }
 
   /**
-   * Convert (potential) markdown text to HTML text
+   * Convert (potential) markdown text to HTML text. This uses the shared
+   * markdown engine, which caches rendered output.
    *
    * @param markdown markdown text
    * @return HTML text
    */
   private String toHtml(String markdown) {
-    return markdownConverter.getAsString(null, null, markdown);
+    return MarkdownEngine.full().toHtml(markdown);
   }
 
   /**
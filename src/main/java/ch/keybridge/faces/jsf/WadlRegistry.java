@@ -0,0 +1,710 @@
+/*
+ * Copyright 2021 Key Bridge. All rights reserved.
+ * Use is subject to license terms.
+ *
+ * Software Code is protected by Copyrights. Author hereby reserves all rights
+ * in and to Copyrights and no license is granted under Copyrights in this
+ * Software License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request from: info@keybridgewireless.com
+ */
+package ch.keybridge.faces.jsf;
+
+import ch.keybridge.faces.FacesUtil;
+import ch.keybridge.faces.HttpClientFactory;
+import ch.keybridge.faces.wadl.AbstractWadlBean;
+import ch.keybridge.faces.wadl.WadlDiff;
+import ch.keybridge.faces.wadl.WadlLabelCache;
+import ch.keybridge.faces.wadl.WadlSnapshot;
+import ch.keybridge.faces.wadl.WadlSnapshotStore;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.annotation.PreDestroy;
+import javax.faces.context.FacesContext;
+import javax.ws.rs.client.Invocation;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Response;
+
+/**
+ * Application scoped registry of the application WADL.
+ * <p>
+ * The WADL file is downloaded, unmarshaled and post-processed once, on the
+ * first request that needs it, and then held as an immutable
+ * {@link WadlSnapshot} that is shared by all request scoped WADL beans. The
+ * snapshot is refreshed in the background every
+ * {@value #DEFAULT_REFRESH_SECONDS} seconds; this may be changed with the
+ * {@value #WADL_REFRESH_SECONDS} context parameter. A value of zero disables
+ * the refresh.
+ * <p>
+ * The commonly used REST contexts are searched in parallel by default, and the
+ * first context to answer with a valid WADL file is used. Set the
+ * {@value #WADL_DISCOVERY} context parameter to {@value #SEQUENTIAL} to search
+ * one context at a time, in order. The context found is remembered and tried
+ * first if the WADL must be searched for again. Only one search runs at a
+ * time; requests that arrive during a search do not wait for it and are
+ * answered with the current snapshot, if any. If the WADL file cannot be found
+ * the search is not repeated for {@value #RETRY_SECONDS} seconds.
+ * <p>
+ * Refreshes are conditional: the WADL is requested with the entity tag and
+ * last modified time of the current snapshot and a "304 Not Modified" answer
+ * keeps the snapshot. A WADL file that is downloaded again but is unchanged,
+ * either byte for byte or structurally, also keeps the current application
+ * and its views. When the WADL does change only the labels of the changed
+ * methods are discarded.
+ * <p>
+ * Set the {@value #WADL_SNAPSHOT_FILE} context parameter to a local file path
+ * to keep a copy of the last downloaded WADL file. The copy is read when the
+ * registry is created at startup, so the WADL renders immediately, and is then
+ * refreshed in the background. The copy is kept if the REST service is not
+ * available. If the URL of the copy cannot be refreshed
+ * {@value #MAX_STORED_REFRESH_FAILURES} times in a row (e.g. the host or
+ * context moved) the WADL file is searched for again, while the copy is still
+ * served.
+ * <p>
+ * The registry also holds the resolved WADL labels, which are discarded each
+ * time the WADL is refreshed.
+ *
+ * @author Key Bridge
+ * @since v5.2.0 created 2021-02-12 to avoid downloading the WADL per request
+ * @since v5.2.0 hold the resolved WADL labels 2021-02-17
+ * @since v5.2.0 optionally persist the WADL to a local file 2021-02-18
+ * @since v5.2.0 conditional and incremental refresh 2021-02-21
+ * @since v5.2.0 search again if a stored WADL URL fails to refresh 2021-02-27
+ * @since v5.2.0 run one WADL search at a time without the registry lock
+ * 2021-02-27
+ */
+public class WadlRegistry {
+
+  private static final Logger LOGGER = Logger.getLogger(WadlRegistry.class.getName());
+
+  /**
+   * "wadlRegistry". The managed bean name, as configured in faces-config.xml.
+   */
+  public static final String BEAN_NAME = "wadlRegistry";
+  /**
+   * "ch.keybridge.faces.WADL_REFRESH_SECONDS". Context parameter to set the
+   * WADL refresh interval, in seconds.
+   */
+  public static final String WADL_REFRESH_SECONDS = "ch.keybridge.faces.WADL_REFRESH_SECONDS";
+  /**
+   * "ch.keybridge.faces.WADL_DISCOVERY". Context parameter to set the WADL
+   * search mode. Either {@value #PARALLEL} (the default) or
+   * {@value #SEQUENTIAL}.
+   */
+  public static final String WADL_DISCOVERY = "ch.keybridge.faces.WADL_DISCOVERY";
+  /**
+   * "ch.keybridge.faces.WADL_SNAPSHOT_FILE". Context parameter to set a local
+   * file path where the last downloaded WADL file is kept.
+   */
+  public static final String WADL_SNAPSHOT_FILE = "ch.keybridge.faces.WADL_SNAPSHOT_FILE";
+  /**
+   * "parallel". Search all REST contexts at once and use the first found.
+   */
+  public static final String PARALLEL = "parallel";
+  /**
+   * "sequential". Search the REST contexts one at a time, in order.
+   */
+  public static final String SEQUENTIAL = "sequential";
+  /**
+   * 4. The maximum number of concurrent WADL searches.
+   */
+  private static final int MAX_PROBE_THREADS = 4;
+  /**
+   * 300 (5 minutes). The default WADL refresh interval.
+   */
+  private static final long DEFAULT_REFRESH_SECONDS = 300;
+  /**
+   * 30 seconds. The minimum time between searches for a missing WADL file.
+   */
+  private static final long RETRY_SECONDS = 30;
+  /**
+   * 3. The number of consecutive failed refreshes of a stored, not yet
+   * confirmed, WADL URL before the WADL file is searched for again.
+   */
+  static final int MAX_STORED_REFRESH_FAILURES = 3;
+
+  /**
+   * The commonly used REST contexts, in search order.
+   */
+  static final String[] REST_CONTEXTS = new String[]{"api", "rs", "rest", "resource", "resources", "webresources", "api/1", "api/2", "api/3", "api/4"};
+
+  /**
+   * The refresh interval, in seconds. Zero to disable refresh.
+   */
+  private final long refreshSeconds;
+  /**
+   * TRUE to search the REST contexts in parallel.
+   */
+  private final boolean parallel;
+  /**
+   * The local WADL file store. Null if not configured.
+   */
+  private final WadlSnapshotStore store;
+  /**
+   * The WADL URL last found. This is tried first if the WADL must be searched
+   * for again.
+   */
+  private volatile String foundUrl;
+  /**
+   * The current WADL snapshot. Null until the WADL is loaded.
+   */
+  private volatile WadlSnapshot snapshot;
+  /**
+   * The earliest time to search again for a missing WADL file, in milliseconds
+   * since the epoch.
+   */
+  private volatile long retryAfter;
+  /**
+   * TRUE once the current snapshot URL has answered a download. FALSE for a
+   * snapshot read from the local WADL file.
+   */
+  private volatile boolean confirmed;
+  /**
+   * TRUE to search for the WADL file again while the current (stored)
+   * snapshot is still served.
+   */
+  private volatile boolean rediscover;
+  /**
+   * The number of consecutive failed refreshes of an unconfirmed snapshot.
+   * Only used by the refresh thread.
+   */
+  private int refreshFailures;
+  /**
+   * TRUE while a WADL search is in progress.
+   */
+  private final AtomicBoolean searching = new AtomicBoolean();
+  /**
+   * The resolved WADL labels.
+   */
+  private final WadlLabelCache labelCache = new WadlLabelCache();
+  /**
+   * The background refresh scheduler. Created when the WADL is first loaded.
+   */
+  private ScheduledExecutorService scheduler;
+
+  /**
+   * Construct a new registry. The refresh interval is read from the
+   * {@value #WADL_REFRESH_SECONDS} context parameter, if set.
+   * <p>
+   * If a {@value #WADL_SNAPSHOT_FILE} is configured and available it is read
+   * now and refreshed in the background.
+   */
+  public WadlRegistry() {
+    this.refreshSeconds = readRefreshSeconds();
+    this.parallel = !SEQUENTIAL.equalsIgnoreCase(readParameter(WADL_DISCOVERY));
+    String snapshotFile = readParameter(WADL_SNAPSHOT_FILE);
+    this.store = snapshotFile == null ? null : new WadlSnapshotStore(Paths.get(snapshotFile));
+    if (store != null) {
+      WadlSnapshot stored = store.read();
+      if (stored != null) {
+        LOGGER.log(Level.INFO, "Loaded WADL for {0} from {1}", new Object[]{stored.getUrl(), store.getFile()});
+        this.foundUrl = stored.getUrl();
+        this.snapshot = stored;
+        startRefresh(true);
+      }
+    }
+  }
+
+  /**
+   * Get the application scoped WADL registry. The registry is created by the
+   * faces runtime on first use.
+   *
+   * @return the application WADL registry
+   */
+  public static WadlRegistry getInstance() {
+    FacesContext context = FacesUtil.getContext();
+    return context.getApplication().evaluateExpressionGet(context, "#{" + BEAN_NAME + "}", WadlRegistry.class);
+  }
+
+  /**
+   * Read the refresh interval from the context init parameters.
+   *
+   * @return the refresh interval, in seconds
+   */
+  private static long readRefreshSeconds() {
+    try {
+      String value = readParameter(WADL_REFRESH_SECONDS);
+      if (value != null) {
+        return Long.parseLong(value);
+      }
+    } catch (Exception exception) {
+      LOGGER.log(Level.WARNING, "Invalid {0} value.  {1}", new Object[]{WADL_REFRESH_SECONDS, exception.getMessage()});
+    }
+    return DEFAULT_REFRESH_SECONDS;
+  }
+
+  /**
+   * Read a context init parameter.
+   *
+   * @param name the parameter name
+   * @return the trimmed parameter value; null if not set or not available
+   */
+  private static String readParameter(String name) {
+    try {
+      String value = FacesUtil.getInitPrameter(name);
+      return value == null || value.trim().isEmpty() ? null : value.trim();
+    } catch (Exception exception) {
+      return null;
+    }
+  }
+
+  /**
+   * Get the current WADL snapshot, loading it if required.
+   * <p>
+   * The first call searches the commonly used REST contexts of the current
+   * application for the WADL file. If a stored snapshot must be searched for
+   * again it is returned immediately and the search runs on the background
+   * refresh thread. A call made while another thread is
+   * searching does not wait; it returns the current snapshot, which is null
+   * until the first search succeeds. This must be called from within a faces
+   * request.
+   *
+   * @return the WADL snapshot; null if the WADL file is not available
+   */
+  public WadlSnapshot getSnapshot() {
+    WadlSnapshot current = snapshot;
+    if ((current == null || rediscover) && System.currentTimeMillis() >= retryAfter && searching.compareAndSet(false, true)) {
+      String contextPath;
+      try {
+        contextPath = FacesUtil.getContextPath();
+      } catch (RuntimeException exception) {
+        searching.set(false);
+        throw exception;
+      }
+      if (current == null) {
+        WadlSnapshot loaded = load(contextPath);
+        if (loaded != null) {
+          current = loaded;
+        }
+      } else {
+        loadInBackground(contextPath);
+      }
+    }
+    return current;
+  }
+
+  /**
+   * Search for the WADL file on the refresh thread while the current (stored)
+   * snapshot is served. The caller must hold the {@code searching} flag.
+   *
+   * @param contextPath the application context path
+   */
+  private void loadInBackground(String contextPath) {
+    ScheduledExecutorService executor;
+    synchronized (this) {
+      executor = scheduler;
+    }
+    if (executor == null) {
+      searching.set(false);
+      return;
+    }
+    try {
+      executor.execute(() -> load(contextPath));
+    } catch (RejectedExecutionException exception) {
+      searching.set(false);
+    }
+  }
+
+  /**
+   * Search for and load the WADL file. The caller must hold the
+   * {@code searching} flag, which is released when the search completes. The
+   * search itself runs without the registry lock; only the result is
+   * published under the lock.
+   *
+   * @param contextPath the application context path
+   * @return the WADL snapshot; null if not found
+   */
+  private WadlSnapshot load(String contextPath) {
+    try {
+      return search(contextPath);
+    } finally {
+      searching.set(false);
+    }
+  }
+
+  /**
+   * Search for the WADL file, unless it was loaded or searched for by another
+   * thread since the caller checked.
+   *
+   * @param contextPath the application context path
+   * @return the WADL snapshot; null if not found
+   */
+  private WadlSnapshot search(String contextPath) {
+    WadlSnapshot current = snapshot;
+    if ((current != null && !rediscover) || System.currentTimeMillis() < retryAfter) {
+      return current;
+    }
+    /**
+     * Try the previously found URL first.
+     */
+    WadlSnapshot found = foundUrl == null ? null : probe(foundUrl);
+    if (found == null) {
+      List<String> wadlUrls = new ArrayList<>();
+      for (String restContext : REST_CONTEXTS) {
+        wadlUrls.add(buildWadlUrl(contextPath, restContext));
+      }
+      found = parallel ? searchParallel(wadlUrls) : searchSequential(wadlUrls);
+    }
+    if (found == null) {
+      LOGGER.log(Level.INFO, "WadlRegistry error downloading WADL file.");
+      retryAfter = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(RETRY_SECONDS);
+      return null;
+    }
+    LOGGER.log(Level.INFO, "Loaded WADL from {0}", found.getUrl());
+    synchronized (this) {
+      if (snapshot != null) {
+        /**
+         * Found again while serving a stored snapshot.
+         */
+        WadlDiff diff = WadlDiff.compare(snapshot.getIndex(), found.getIndex());
+        diff.getRemoved().forEach(labelCache::invalidate);
+        diff.getChanged().forEach(labelCache::invalidate);
+      }
+      foundUrl = found.getUrl();
+      snapshot = found;
+      confirmed = true;
+      rediscover = false;
+      store(found);
+    }
+    startRefresh(false);
+    return found;
+  }
+
+  /**
+   * Try to load the WADL file from one URL.
+   *
+   * @param wadlUrl the WADL URL
+   * @return the WADL snapshot; null if not available
+   */
+  private static WadlSnapshot probe(String wadlUrl) {
+    try {
+      return download(wadlUrl, null);
+    } catch (Exception exception) {
+      LOGGER.log(Level.FINE, "WADL not available at {0}.  {1}", new Object[]{wadlUrl, exception.getMessage()});
+      return null;
+    }
+  }
+
+  /**
+   * Download and parse the WADL file. The snapshot retains the raw XML and the
+   * HTTP cache validators.
+   * <p>
+   * If a previous snapshot is provided the request is conditional. The
+   * previous snapshot is returned if the server answers "304 Not Modified",
+   * and a revalidated copy of it, sharing the application, is returned if the
+   * downloaded XML is identical.
+   *
+   * @param wadlUrl  the WADL URL
+   * @param previous the previous snapshot; null for an unconditional request
+   * @return the WADL snapshot
+   * @throws Exception if the file fails to download or parse
+   */
+  private static WadlSnapshot download(String wadlUrl, WadlSnapshot previous) throws Exception {
+    Invocation.Builder request = HttpClientFactory.getClient().target(wadlUrl).request();
+    if (previous != null && previous.getEtag() != null) {
+      request.header(HttpHeaders.IF_NONE_MATCH, previous.getEtag());
+    }
+    if (previous != null && previous.getLastModified() > 0) {
+      request.header(HttpHeaders.IF_MODIFIED_SINCE, DateTimeFormatter.RFC_1123_DATE_TIME.format(Instant.ofEpochMilli(previous.getLastModified()).atZone(ZoneOffset.UTC)));
+    }
+    Response response = request.get();
+    try {
+      boolean successful = response.getStatusInfo().getFamily() == Response.Status.Family.SUCCESSFUL;
+      Date lastModified = response.getLastModified();
+      return toSnapshot(wadlUrl, previous,
+                        response.getStatus(),
+                        successful ? response.readEntity(String.class) : null,
+                        response.getHeaderString(HttpHeaders.ETAG),
+                        lastModified == null ? 0 : lastModified.getTime());
+    } finally {
+      response.close();
+    }
+  }
+
+  /**
+   * Build a snapshot from a WADL download response.
+   *
+   * @param wadlUrl      the WADL URL
+   * @param previous     the previous snapshot; null for an unconditional
+   *                     request
+   * @param status       the HTTP status code
+   * @param xml          the downloaded XML; null if the request failed
+   * @param etag         the entity tag header; null if not set
+   * @param lastModified the last modified header, in milliseconds since the
+   *                     epoch; zero if not set
+   * @return the previous snapshot if not modified, a revalidated copy of it if
+   *         the XML is identical, otherwise a new snapshot
+   * @throws Exception if the status is not successful or the XML fails to parse
+   */
+  static WadlSnapshot toSnapshot(String wadlUrl, WadlSnapshot previous, int status, String xml, String etag, long lastModified) throws Exception {
+    if (previous != null && status == Response.Status.NOT_MODIFIED.getStatusCode()) {
+      return previous;
+    }
+    if (Response.Status.Family.familyOf(status) != Response.Status.Family.SUCCESSFUL || xml == null) {
+      throw new Exception("HTTP " + status);
+    }
+    if (previous != null && xml.equals(previous.getXml())) {
+      return previous.revalidate(xml, etag, lastModified);
+    }
+    return new WadlSnapshot(wadlUrl, AbstractWadlBean.parseApplication(xml), xml, System.currentTimeMillis(), etag, lastModified);
+  }
+
+  /**
+   * Write a snapshot to the local WADL file, if configured.
+   *
+   * @param found the WADL snapshot
+   */
+  private void store(WadlSnapshot found) {
+    if (store != null) {
+      store.write(found);
+    }
+  }
+
+  /**
+   * Search the candidate URLs one at a time, in order.
+   *
+   * @param wadlUrls the candidate WADL URLs
+   * @return the first WADL snapshot found; null if none
+   */
+  private static WadlSnapshot searchSequential(List<String> wadlUrls) {
+    for (String wadlUrl : wadlUrls) {
+      WadlSnapshot found = probe(wadlUrl);
+      if (found != null) {
+        return found;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Search the candidate URLs in parallel. The first valid WADL file to arrive
+   * is used and the remaining searches are cancelled.
+   *
+   * @param wadlUrls the candidate WADL URLs
+   * @return the first WADL snapshot found; null if none
+   */
+  private static WadlSnapshot searchParallel(List<String> wadlUrls) {
+    ExecutorService executor = Executors.newFixedThreadPool(Math.min(wadlUrls.size(), MAX_PROBE_THREADS), runnable -> {
+      Thread thread = new Thread(runnable, "WadlRegistry-search");
+      thread.setDaemon(true);
+      return thread;
+    });
+    CompletionService<WadlSnapshot> completionService = new ExecutorCompletionService<>(executor);
+    List<Future<WadlSnapshot>> futures = new ArrayList<>();
+    try {
+      for (String wadlUrl : wadlUrls) {
+        futures.add(completionService.submit(() -> probe(wadlUrl)));
+      }
+      for (int i = 0; i < futures.size(); i++) {
+        WadlSnapshot found = completionService.take().get();
+        if (found != null) {
+          return found;
+        }
+      }
+    } catch (InterruptedException exception) {
+      Thread.currentThread().interrupt();
+    } catch (ExecutionException exception) {
+      LOGGER.log(Level.WARNING, "WADL search error.  {0}", exception.getMessage());
+    } finally {
+      futures.forEach(future -> future.cancel(true));
+      executor.shutdownNow();
+    }
+    return null;
+  }
+
+  /**
+   * Start the background refresh, if enabled.
+   *
+   * @param immediate TRUE to also refresh now. This is used when the snapshot
+   *                  was read from the local WADL file.
+   */
+  private synchronized void startRefresh(boolean immediate) {
+    if ((refreshSeconds > 0 || immediate) && scheduler == null) {
+      scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "WadlRegistry");
+        thread.setDaemon(true);
+        return thread;
+      });
+      if (refreshSeconds > 0) {
+        scheduler.scheduleWithFixedDelay(this::refresh, immediate ? 0 : refreshSeconds, refreshSeconds, TimeUnit.SECONDS);
+      } else {
+        scheduler.schedule(this::refresh, 0, TimeUnit.SECONDS);
+      }
+    }
+  }
+
+  /**
+   * Download the WADL file again and replace the current snapshot if it has
+   * changed. If the download fails the current snapshot is kept.
+   * <p>
+   * The download runs without the registry lock. The result is published under
+   * the lock, and only if the snapshot it was downloaded for is still current;
+   * i.e. it is discarded if the registry was cleared or reloaded meanwhile.
+   */
+  public void refresh() {
+    WadlSnapshot current = snapshot;
+    if (current == null) {
+      return;
+    }
+    try {
+      WadlSnapshot downloaded = download(current.getUrl(), current);
+      if (downloaded == current) {
+        LOGGER.log(Level.FINE, "WADL not modified at {0}", current.getUrl());
+        return;
+      }
+      WadlDiff diff = null;
+      if (downloaded.getApplication() != current.getApplication()) {
+        diff = WadlDiff.compare(current.getIndex(), downloaded.getIndex());
+        if (diff.isEmpty()) {
+          /**
+           * Keep the current application and views.
+           */
+          downloaded = current.revalidate(downloaded.getXml(), downloaded.getEtag(), downloaded.getLastModified());
+          diff = null;
+        }
+      }
+      synchronized (this) {
+        if (snapshot != current) {
+          LOGGER.log(Level.FINE, "Discarded WADL refresh from {0}; the registry was cleared or reloaded.", current.getUrl());
+          return;
+        }
+        if (diff != null) {
+          LOGGER.log(Level.INFO, "Refreshed WADL from {0}.  {1}", new Object[]{current.getUrl(), diff});
+          diff.getRemoved().forEach(labelCache::invalidate);
+          diff.getChanged().forEach(labelCache::invalidate);
+        }
+        snapshot = downloaded;
+        confirmed = true;
+        refreshFailures = 0;
+        store(downloaded);
+      }
+      LOGGER.log(Level.FINE, "Refreshed WADL from {0}", current.getUrl());
+    } catch (Exception exception) {
+      LOGGER.log(Level.WARNING, "Unable to refresh WADL from {0}.  {1}", new Object[]{current.getUrl(), exception.getMessage()});
+      if (!confirmed) {
+        refreshFailed(current);
+      }
+    }
+  }
+
+  /**
+   * Record a failed refresh of an unconfirmed (stored) snapshot. After
+   * {@value #MAX_STORED_REFRESH_FAILURES} consecutive failures, or one if the
+   * refresh is not repeated, the stored URL is forgotten and the next request
+   * starts a background search for the WADL file. The stored snapshot is
+   * served until a WADL file is found.
+   *
+   * @param current the snapshot that failed to refresh
+   */
+  private void refreshFailed(WadlSnapshot current) {
+    refreshFailures++;
+    if (refreshFailures >= (refreshSeconds > 0 ? MAX_STORED_REFRESH_FAILURES : 1)) {
+      refreshFailures = 0;
+      synchronized (this) {
+        if (snapshot == current && !confirmed) {
+          LOGGER.log(Level.WARNING, "Stored WADL URL {0} is not available. Searching for the WADL file again.", current.getUrl());
+          foundUrl = null;
+          retryAfter = 0;
+          rediscover = true;
+        }
+      }
+    }
+  }
+
+  /**
+   * Discard the current snapshot and the resolved labels. The WADL file is
+   * searched for again on next request. A refresh in progress is discarded.
+   */
+  public synchronized void clear() {
+    snapshot = null;
+    retryAfter = 0;
+    rediscover = false;
+    labelCache.clear();
+  }
+
+  /**
+   * Get the resolved WADL labels.
+   *
+   * @return the label cache
+   */
+  public WadlLabelCache getLabelCache() {
+    return labelCache;
+  }
+
+  /**
+   * Get the refresh interval.
+   *
+   * @return the refresh interval, in seconds; zero if refresh is disabled
+   */
+  public long getRefreshSeconds() {
+    return refreshSeconds;
+  }
+
+  /**
+   * Determine if the REST contexts are searched in parallel.
+   *
+   * @return TRUE if searched in parallel, FALSE if searched in order
+   */
+  public boolean isParallel() {
+    return parallel;
+  }
+
+  /**
+   * Get the WADL URL last found.
+   *
+   * @return the WADL URL; null if not yet found
+   */
+  public String getFoundUrl() {
+    return foundUrl;
+  }
+
+  /**
+   * Get the local WADL file store.
+   *
+   * @return the store; null if not configured
+   */
+  public WadlSnapshotStore getStore() {
+    return store;
+  }
+
+  /**
+   * Stop the background refresh.
+   */
+  @PreDestroy
+  protected synchronized void preDestroy() {
+    if (scheduler != null) {
+      scheduler.shutdownNow();
+      scheduler = null;
+    }
+  }
+
+  /**
+   * Build a URL to the local WADL file.
+   *
+   * @param contextPath the application context path
+   * @param restContext the application REST context
+   * @return the WADL location.
+   */
+  static String buildWadlUrl(String contextPath, String restContext) {
+    return new StringBuilder()
+      .append(contextPath)
+      .append(contextPath.endsWith("/") ? "" : "/")
+      .append(restContext)
+      .append(restContext.endsWith("/") ? "" : "/")
+      .append("application.wadl")
+      .toString();
+  }
+
+}
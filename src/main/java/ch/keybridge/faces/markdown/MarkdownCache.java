@@ -0,0 +1,258 @@
+/*
+ * Copyright 2021 Key Bridge. All rights reserved.
+ * Use is subject to license terms.
+ *
+ * Software Code is protected by Copyrights. Author hereby reserves all rights
+ * in and to Copyrights and no license is granted under Copyrights in this
+ * Software License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request from: info@keybridgewireless.com
+ */
+package ch.keybridge.faces.markdown;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Bounded, thread safe cache of rendered Markdown.
+ * <p>
+ * Entries are keyed by a SHA-256 hash of the Markdown source so the (possibly
+ * large) source text is not retained. The cache is limited by both entry count
+ * and total weight, where weight is the number of characters in the rendered
+ * HTML. When either limit is exceeded the least recently used entries are
+ * evicted.
+ * <p>
+ * Rendering is performed outside of the cache lock. Two threads requesting the
+ * same uncached source may therefore both render it; the last one wins, which
+ * is harmless since the output is deterministic.
+ *
+ * @author Key Bridge
+ * @since v5.2.0 created 2021-02-01 to avoid re-rendering identical content
+ */
+public class MarkdownCache {
+
+  /**
+   * 1,000. The default maximum number of cached entries.
+   */
+  public static final int DEFAULT_MAXIMUM_SIZE = 1000;
+  /**
+   * 4,194,304 (4M). The default maximum total weight, in characters.
+   */
+  public static final long DEFAULT_MAXIMUM_WEIGHT = 4 * 1024 * 1024;
+
+  /**
+   * The maximum number of cached entries.
+   */
+  private final int maximumSize;
+  /**
+   * The maximum total weight (rendered characters) of all cached entries.
+   */
+  private final long maximumWeight;
+  /**
+   * An access-ordered map of source hash to rendered HTML. The eldest entry is
+   * the least recently used.
+   */
+  private final LinkedHashMap<String, String> entries;
+  /**
+   * The current total weight of all cached entries. Guarded by the entries
+   * lock.
+   */
+  private long weight;
+
+  /**
+   * The number of cache hits.
+   */
+  private final AtomicLong hitCount = new AtomicLong();
+  /**
+   * The number of cache misses.
+   */
+  private final AtomicLong missCount = new AtomicLong();
+  /**
+   * The number of evicted entries.
+   */
+  private final AtomicLong evictionCount = new AtomicLong();
+
+  /**
+   * Construct a new cache with the default size and weight limits.
+   */
+  public MarkdownCache() {
+    this(DEFAULT_MAXIMUM_SIZE, DEFAULT_MAXIMUM_WEIGHT);
+  }
+
+  /**
+   * Construct a new cache.
+   *
+   * @param maximumSize   the maximum number of cached entries
+   * @param maximumWeight the maximum total number of cached HTML characters
+   */
+  public MarkdownCache(int maximumSize, long maximumWeight) {
+    if (maximumSize < 0 || maximumWeight < 0) {
+      throw new IllegalArgumentException("Cache limits must not be negative.");
+    }
+    this.maximumSize = maximumSize;
+    this.maximumWeight = maximumWeight;
+    this.entries = new LinkedHashMap<>(16, 0.75f, true);
+  }
+
+  /**
+   * Get the rendered HTML for the indicated Markdown source. If the source has
+   * been previously rendered the cached HTML is returned, otherwise the
+   * renderer is called and its output is cached.
+   *
+   * @param markdown the Markdown source
+   * @param renderer a function to render Markdown source to HTML
+   * @return the rendered HTML
+   */
+  public String get(String markdown, Function<String, String> renderer) {
+    String key = hash(markdown);
+    String html;
+    synchronized (entries) {
+      html = entries.get(key);
+    }
+    if (html != null) {
+      hitCount.incrementAndGet();
+      return html;
+    }
+    missCount.incrementAndGet();
+    html = renderer.apply(markdown);
+    if (html != null) {
+      put(key, html);
+    }
+    return html;
+  }
+
+  /**
+   * Add an entry to the cache, then evict the least recently used entries
+   * until the cache is within its size and weight limits. Entries heavier than
+   * the maximum weight are not cached.
+   *
+   * @param key  the source hash
+   * @param html the rendered HTML
+   */
+  private void put(String key, String html) {
+    if (html.length() > maximumWeight) {
+      return;
+    }
+    synchronized (entries) {
+      String previous = entries.put(key, html);
+      if (previous != null) {
+        weight -= previous.length();
+      }
+      weight += html.length();
+      Iterator<Map.Entry<String, String>> iterator = entries.entrySet().iterator();
+      while ((entries.size() > maximumSize || weight > maximumWeight) && iterator.hasNext()) {
+        weight -= iterator.next().getValue().length();
+        iterator.remove();
+        evictionCount.incrementAndGet();
+      }
+    }
+  }
+
+  /**
+   * Remove all entries from the cache. Statistics are not reset.
+   */
+  public void clear() {
+    synchronized (entries) {
+      entries.clear();
+      weight = 0;
+    }
+  }
+
+  /**
+   * Get the number of cached entries.
+   *
+   * @return the number of cached entries
+   */
+  public int size() {
+    synchronized (entries) {
+      return entries.size();
+    }
+  }
+
+  /**
+   * Get the current total weight (rendered characters) of all cached entries.
+   *
+   * @return the current cache weight
+   */
+  public long getWeight() {
+    synchronized (entries) {
+      return weight;
+    }
+  }
+
+  /**
+   * Get the number of times a cached value was returned.
+   *
+   * @return the hit count
+   */
+  public long getHitCount() {
+    return hitCount.get();
+  }
+
+  /**
+   * Get the number of times the renderer was called.
+   *
+   * @return the miss count
+   */
+  public long getMissCount() {
+    return missCount.get();
+  }
+
+  /**
+   * Get the number of entries evicted to satisfy the size and weight limits.
+   *
+   * @return the eviction count
+   */
+  public long getEvictionCount() {
+    return evictionCount.get();
+  }
+
+  /**
+   * Get the ratio of cache hits to total requests.
+   *
+   * @return the hit rate, between 0.0 and 1.0
+   */
+  public double getHitRate() {
+    long hits = hitCount.get();
+    long total = hits + missCount.get();
+    return total == 0 ? 0.0 : (double) hits / total;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public String toString() {
+    return "MarkdownCache size " + size() + " weight " + getWeight()
+      + " hits " + hitCount + " misses " + missCount + " evictions " + evictionCount;
+  }
+
+  /**
+   * Build a SHA-256 hash of the source text.
+   *
+   * @param text the source text
+   * @return a Base64 encoded hash of the source text
+   */
+  private static String hash(String text) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      return Base64.getEncoder().encodeToString(digest.digest(text.getBytes(StandardCharsets.UTF_8)));
+    } catch (NoSuchAlgorithmException exception) {
+      /**
+       * SHA-256 is required of every Java platform implementation.
+       */
+      throw new IllegalStateException(exception);
+    }
+  }
+
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2021 Key Bridge. All rights reserved.
+ * Use is subject to license terms.
+ *
+ * Software Code is protected by Copyrights. Author hereby reserves all rights
+ * in and to Copyrights and no license is granted under Copyrights in this
+ * Software License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request from: info@keybridgewireless.com
+ */
+package ch.keybridge.faces.markdown;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Build time Markdown compiler.
+ * <p>
+ * Renders every {@code .md} file in a content directory to a sibling
+ * {@code .html} file using the {@value MarkdownEngine#CONTENT} profile. The
+ * {@code FileContentStore} serves a pre-rendered {@code .html} file in place of
+ * its {@code .md} source, so static content is never parsed at runtime.
+ * <p>
+ * Files are only rendered if the output is missing or older than the source.
+ * <p>
+ * To use, add an execution to the web application POM. e.g.
+ * <pre>
+ * &lt;plugin&gt;
+ *   &lt;groupId&gt;org.codehaus.mojo&lt;/groupId&gt;
+ *   &lt;artifactId&gt;exec-maven-plugin&lt;/artifactId&gt;
+ *   &lt;executions&gt;
+ *     &lt;execution&gt;
+ *       &lt;id&gt;compile-markdown&lt;/id&gt;
+ *       &lt;phase&gt;prepare-package&lt;/phase&gt;
+ *       &lt;goals&gt;&lt;goal&gt;java&lt;/goal&gt;&lt;/goals&gt;
+ *       &lt;configuration&gt;
+ *         &lt;mainClass&gt;ch.keybridge.faces.markdown.MarkdownCompiler&lt;/mainClass&gt;
+ *         &lt;classpathScope&gt;test&lt;/classpathScope&gt;
+ *         &lt;arguments&gt;
+ *           &lt;argument&gt;${project.basedir}/src/main/webapp/resources/content&lt;/argument&gt;
+ *           &lt;argument&gt;${project.build.directory}/${project.build.finalName}/resources/content&lt;/argument&gt;
+ *         &lt;/arguments&gt;
+ *       &lt;/configuration&gt;
+ *     &lt;/execution&gt;
+ *   &lt;/executions&gt;
+ * &lt;/plugin&gt;</pre>
+ *
+ * @author Key Bridge
+ * @since v5.2.0 created 2021-02-05 to pre-render static content at build time
+ */
+public class MarkdownCompiler {
+
+  /**
+   * ".md". The markdown file extension.
+   */
+  private static final String MD = ".md";
+  /**
+   * ".html". The pre-rendered file extension.
+   */
+  public static final String HTML = ".html";
+
+  /**
+   * The source directory.
+   */
+  private final Path source;
+  /**
+   * The output directory.
+   */
+  private final Path output;
+
+  /**
+   * Construct a new compiler.
+   *
+   * @param source the source (content) directory
+   * @param output the output directory. May be the same as the source.
+   */
+  public MarkdownCompiler(Path source, Path output) {
+    this.source = source;
+    this.output = output;
+  }
+
+  /**
+   * Render all markdown files in the source directory tree.
+   *
+   * @return the number of files rendered
+   * @throws IOException if a file cannot be read or written
+   */
+  public int compile() throws IOException {
+    if (!Files.isDirectory(source)) {
+      return 0;
+    }
+    List<Path> markdownFiles;
+    try (Stream<Path> stream = Files.walk(source)) {
+      markdownFiles = stream.filter(p -> Files.isRegularFile(p) && p.getFileName().toString().endsWith(MD))
+        .collect(Collectors.toList());
+    }
+    int count = 0;
+    for (Path markdownFile : markdownFiles) {
+      String name = source.relativize(markdownFile).toString();
+      Path htmlFile = output.resolve(name.substring(0, name.length() - MD.length()) + HTML);
+      if (Files.exists(htmlFile)
+        && Files.getLastModifiedTime(htmlFile).compareTo(Files.getLastModifiedTime(markdownFile)) >= 0) {
+        continue;
+      }
+      String markdown = new String(Files.readAllBytes(markdownFile), StandardCharsets.UTF_8);
+      if (htmlFile.getParent() != null) {
+        Files.createDirectories(htmlFile.getParent());
+      }
+      Files.write(htmlFile, MarkdownEngine.content().toHtmlUncached(markdown).getBytes(StandardCharsets.UTF_8));
+      count++;
+    }
+    return count;
+  }
+
+  /**
+   * Command line entry point.
+   *
+   * @param args the source directory and (optionally) the output directory. If
+   *             no output directory is provided the files are written to the
+   *             source directory.
+   * @throws IOException if a file cannot be read or written
+   */
+  public static void main(String[] args) throws IOException {
+    if (args.length < 1) {
+      System.err.println("Usage: MarkdownCompiler source-directory [output-directory]");
+      System.exit(1);
+    }
+    Path source = Paths.get(args[0]);
+    Path output = args.length > 1 ? Paths.get(args[1]) : source;
+    int count = new MarkdownCompiler(source, output).compile();
+    System.out.println("MarkdownCompiler rendered " + count + " file(s) from " + source + " to " + output);
+  }
+
+}
@@ -0,0 +1,280 @@
+/*
+ * Copyright 2021 Key Bridge. All rights reserved.
+ * Use is subject to license terms.
+ *
+ * Software Code is protected by Copyrights. Author hereby reserves all rights
+ * in and to Copyrights and no license is granted under Copyrights in this
+ * Software License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request from: info@keybridgewireless.com
+ */
+package ch.keybridge.faces.markdown;
+
+import com.vladsch.flexmark.ext.admonition.AdmonitionExtension;
+import com.vladsch.flexmark.ext.gfm.strikethrough.StrikethroughExtension;
+import com.vladsch.flexmark.ext.gfm.tasklist.TaskListExtension;
+import com.vladsch.flexmark.ext.gitlab.GitLabExtension;
+import com.vladsch.flexmark.ext.macros.MacrosExtension;
+import com.vladsch.flexmark.ext.superscript.SuperscriptExtension;
+import com.vladsch.flexmark.ext.tables.TablesExtension;
+import com.vladsch.flexmark.html.HtmlRenderer;
+import com.vladsch.flexmark.parser.Parser;
+import com.vladsch.flexmark.util.ast.KeepType;
+import com.vladsch.flexmark.util.ast.Node;
+import com.vladsch.flexmark.util.data.MutableDataSet;
+import com.vladsch.flexmark.util.misc.Extension;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Shared Markdown processing engine.
+ * <p>
+ * Building a flexmark {@code Parser} and {@code HtmlRenderer} with a set of
+ * extensions is relatively expensive. Both are immutable and thread safe once
+ * built, so this class provides one lazily initialized instance per named
+ * profile for the whole JVM.
+ * <p>
+ * Two profiles are supported:
+ * <ul>
+ * <li>{@value #FULL} - all supported extensions. This is used to render
+ * inline text such as form values and WADL labels.</li>
+ * <li>{@value #CONTENT} - tables, GitLab, task list and macro extensions. This
+ * is used to render file based page content.</li>
+ * </ul>
+ * Each engine maintains its own cache of rendered HTML.
+ *
+ * @author Key Bridge
+ * @since v5.2.0 created 2021-02-02 to share one markdown pipeline per profile
+ * @see <a href="https://github.com/vsch/flexmark-java">flexmark-java</a>
+ */
+public final class MarkdownEngine {
+
+  /**
+   * "full". The profile name for the full extension set.
+   */
+  public static final String FULL = "full";
+  /**
+   * "content". The profile name for file based content.
+   */
+  public static final String CONTENT = "content";
+
+  /**
+   * 65,536 (64K). Markdown text longer than this number of characters is
+   * rendered directly to the output when written, and is not cached.
+   */
+  public static final int STREAMING_THRESHOLD = 64 * 1024;
+
+  /**
+   * The profile name.
+   */
+  private final String profile;
+  /**
+   * The Markdown processor.
+   */
+  private final Parser parser;
+  /**
+   * The HTML renderer.
+   */
+  private final HtmlRenderer renderer;
+  /**
+   * The rendered HTML cache.
+   */
+  private final MarkdownCache cache;
+
+  /**
+   * Construct a new engine with the indicated extensions and the common
+   * options.
+   *
+   * @param profile    the profile name
+   * @param extensions the flexmark extensions
+   */
+  private MarkdownEngine(String profile, List<Extension> extensions) {
+    this.profile = profile;
+    /**
+     * Set extensions.
+     * <p>
+     * TablesExtension enables tables using pipes. <br>
+     * GitLabExtension parses and renders GitLab Flavoured Markdown including
+     * math (via Katex) and charts (via Mermaid). <br>
+     * TaskListExtension renders check boxes in lists (cute).
+     * <p>
+     * Macro Definitions are block elements which can contain any markdown
+     * element(s) but can be expanded in a block or inline context, allowing
+     * block elements to be used where only inline elements are permitted by the
+     * syntax. See https://github.com/vsch/flexmark-java/wiki/Macros-Extension
+     */
+    MutableDataSet options = new MutableDataSet();
+    options.set(Parser.EXTENSIONS, extensions);
+    /**
+     * Parser.REFERENCES_KEEP defines the behavior of references when duplicate
+     * references are defined in the source. In this case it is configured to
+     * keep the last value, whereas the default behavior is to keep the first
+     * value.
+     * <p>
+     * TablesExtension added for full GFM table compatibility.
+     */
+    options.set(Parser.REFERENCES_KEEP, KeepType.LAST)
+      .set(HtmlRenderer.INDENT_SIZE, 2)
+      .set(HtmlRenderer.PERCENT_ENCODE_URLS, true)
+      .set(TablesExtension.CLASS_NAME, "table")
+      .set(TablesExtension.COLUMN_SPANS, false)
+      .set(TablesExtension.APPEND_MISSING_COLUMNS, true)
+      .set(TablesExtension.DISCARD_EXTRA_COLUMNS, true)
+      .set(TablesExtension.HEADER_SEPARATOR_COLUMN_MATCH, true);
+    /**
+     * Optionally to convert soft-breaks to hard breaks. Disabled by default.
+     */
+    //      options.set(HtmlRenderer.SOFT_BREAK, "<br />\n");
+    this.parser = Parser.builder(options).build();
+    this.renderer = HtmlRenderer.builder(options).build();
+    this.cache = new MarkdownCache();
+  }
+
+  /**
+   * Lazy initialization holder for the {@value #FULL} profile.
+   */
+  private static class FullHolder {
+
+    private static final MarkdownEngine INSTANCE = new MarkdownEngine(FULL, Arrays.asList(
+                                                                        AdmonitionExtension.create(),
+                                                                        StrikethroughExtension.create(),
+                                                                        TaskListExtension.create(),
+                                                                        GitLabExtension.create(),
+                                                                        MacrosExtension.create(),
+                                                                        SuperscriptExtension.create(),
+                                                                        TablesExtension.create()
+                                                                      ));
+  }
+
+  /**
+   * Lazy initialization holder for the {@value #CONTENT} profile.
+   */
+  private static class ContentHolder {
+
+    private static final MarkdownEngine INSTANCE = new MarkdownEngine(CONTENT, Arrays.asList(
+                                                                        TablesExtension.create(),
+                                                                        GitLabExtension.create(),
+                                                                        TaskListExtension.create(),
+                                                                        MacrosExtension.create()
+                                                                      ));
+  }
+
+  /**
+   * Get the engine configured with all supported extensions.
+   *
+   * @return the {@value #FULL} profile engine
+   */
+  public static MarkdownEngine full() {
+    return FullHolder.INSTANCE;
+  }
+
+  /**
+   * Get the engine configured for file based content.
+   *
+   * @return the {@value #CONTENT} profile engine
+   */
+  public static MarkdownEngine content() {
+    return ContentHolder.INSTANCE;
+  }
+
+  /**
+   * Get the engine for a named profile.
+   *
+   * @param profile the profile name; either {@value #FULL} or
+   *                {@value #CONTENT}
+   * @return the corresponding engine
+   * @throws IllegalArgumentException if the profile is not recognized
+   */
+  public static MarkdownEngine getInstance(String profile) {
+    if (FULL.equals(profile)) {
+      return full();
+    } else if (CONTENT.equals(profile)) {
+      return content();
+    }
+    throw new IllegalArgumentException("Unknown markdown profile " + profile);
+  }
+
+  /**
+   * Get the profile name.
+   *
+   * @return the profile name
+   */
+  public String getProfile() {
+    return profile;
+  }
+
+  /**
+   * Get the rendered HTML cache for this engine.
+   *
+   * @return the rendered HTML cache
+   */
+  public MarkdownCache getCache() {
+    return cache;
+  }
+
+  /**
+   * Parse markdown text into a document node.
+   *
+   * @param markdown the markdown text
+   * @return the parsed document
+   */
+  public Node parse(String markdown) {
+    return parser.parse(markdown);
+  }
+
+  /**
+   * Render a parsed document node to HTML.
+   *
+   * @param document the parsed document
+   * @return the HTML text
+   */
+  public String render(Node document) {
+    return renderer.render(document);
+  }
+
+  /**
+   * Convert markdown text to HTML. Previously rendered text is returned from
+   * the cache.
+   *
+   * @param markdown the markdown text
+   * @return the HTML text; null if the markdown is null
+   */
+  public String toHtml(String markdown) {
+    return markdown == null ? null : cache.get(markdown, this::toHtmlUncached);
+  }
+
+  /**
+   * Write markdown text as HTML to the output. Short text is written from the
+   * cache. Long text is rendered directly to the output without building an
+   * intermediate HTML string.
+   *
+   * @param markdown the markdown text
+   * @param output   the output. e.g. a JSF {@code ResponseWriter}
+   * @throws IOException if the output cannot be written
+   */
+  public void write(String markdown, Appendable output) throws IOException {
+    if (markdown == null) {
+      return;
+    }
+    if (markdown.length() > STREAMING_THRESHOLD) {
+      renderer.render(parser.parse(markdown), output);
+    } else {
+      output.append(toHtml(markdown));
+    }
+  }
+
+  /**
+   * Convert markdown text to HTML without consulting the cache.
+   *
+   * @param markdown the markdown text
+   * @return the HTML text
+   */
+  public String toHtmlUncached(String markdown) {
+    return renderer.render(parser.parse(markdown));
+  }
+
+}
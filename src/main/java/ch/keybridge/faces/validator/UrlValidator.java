@@ -18,18 +18,16 @@
  */
 package ch.keybridge.faces.validator;
 
+import ch.keybridge.faces.HttpClientFactory;
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URL;
-import java.security.cert.X509Certificate;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import javax.faces.component.UIComponent;
 import javax.faces.context.FacesContext;
 import javax.faces.validator.ValidatorException;
-import javax.net.ssl.*;
 import javax.ws.rs.client.Client;
-import javax.ws.rs.client.ClientBuilder;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.Response;
 
@@ -47,6 +45,8 @@ import javax.ws.rs.core.Response;
  * @since v5.0.0 append "http://" if scheme is missing
  * @since v5.0.11 rewrite 2020-12-05 to first validate the URL format, then test
  * link availability
+ * @since v5.2.0 use the shared HTTP client 2021-02-14
+ * @since v5.2.0 keep the trustingClient signature; deprecated 2021-02-27
  */
 public class UrlValidator extends AbstractValidator {
 
@@ -103,13 +103,9 @@ public class UrlValidator extends AbstractValidator {
      * Use a trusting client to ignore credential errors.
      */
     try {
-      Response response = trustingClient()
-        .target(url.toURI())
-        .request()
-        .header(HttpHeaders.USER_AGENT, MOZILLA)
-        .head();
+      head(url);
       LOG.log(Level.FINEST, "debug testLinkValidity {0} retrieved OK", url);
-      return response != null;
+      return true;
     } catch (Exception exception) {
       /**
        * Conditionally try again without HTTPS.
@@ -117,13 +113,8 @@ public class UrlValidator extends AbstractValidator {
       try {
         URI uri = URI.create(url.toString());
         if (uri.getScheme().equalsIgnoreCase("https")) {
-          URL httpUrl = new URL("http", url.getHost(), url.getPort(), url.getFile());
-          Response response = trustingClient()
-            .target(httpUrl.toURI())
-            .request()
-            .header(HttpHeaders.USER_AGENT, MOZILLA)
-            .head();
-          return response != null;
+          head(new URL("http", url.getHost(), url.getPort(), url.getFile()));
+          return true;
         }
       } catch (Exception exception2) {
         LOG.log(Level.INFO, "Link {0} is not available. Also tried http.", url);
@@ -134,13 +125,22 @@ public class UrlValidator extends AbstractValidator {
   }
 
   /**
-   * From org.glassfish.jersey.client.ClientProperties
-   */
-  private static final String READ_TIMEOUT = "jersey.config.client.readTimeout";
-  /**
-   * From org.glassfish.jersey.client.ClientProperties
+   * Send a HEAD request to the URL. The response is closed so that the
+   * connection may be reused.
+   *
+   * @param url the link URL
+   * @throws Exception if the request fails
    */
-  private static final String CONNECT_TIMEOUT = "jersey.config.client.connectTimeout";
+  private void head(URL url) throws Exception {
+    Response response = trustingClient()
+      .target(url.toURI())
+      .property(HttpClientFactory.CONNECT_TIMEOUT, TIMEOUT_CONNECT) // should immediately connect
+      .property(HttpClientFactory.READ_TIMEOUT, TIMEOUT_READ) // wait for processing
+      .request()
+      .header(HttpHeaders.USER_AGENT, MOZILLA)
+      .head();
+    response.close();
+  }
 
   /**
    * 1,000 milliseconds = 1 seconds.
@@ -160,50 +160,18 @@ public class UrlValidator extends AbstractValidator {
   private static final int TIMEOUT_READ = 1000;
 
   /**
-   * Build a trusting HTTPS client. Uses TLSv1.2.
+   * Get the trusting HTTPS client. Uses TLSv1.2.
+   * <p>
+   * This is the application shared client; it must not be closed.
    *
-   * @return @throws Exception
+   * @return the shared trusting client
+   * @throws Exception retained for compatibility with existing subclasses;
+   *                   the shared client does not throw
+   * @since v5.2.0 use the shared HTTP client 2021-02-14
+   * @deprecated use {@link HttpClientFactory#getClient()}
    */
+  @Deprecated
   protected Client trustingClient() throws Exception {
-    SSLContext sc = SSLContext.getInstance("TLSv1.2");  //Java 8   // NoSuchAlgorithmException
-    System.setProperty("https.protocols", "TLSv1.2");   //Java 8
-    TrustManager[] trustAllCerts = {new InsecureTrustManager()};
-    sc.init(null, trustAllCerts, new java.security.SecureRandom()); // KeyManagementException
-    HostnameVerifier allHostsValid = (String string, SSLSession ssls) -> true;
-    Client client = ClientBuilder.newBuilder().sslContext(sc).hostnameVerifier(allHostsValid).build();
-    client.property(CONNECT_TIMEOUT, TIMEOUT_CONNECT); // should immediately connect
-    client.property(READ_TIMEOUT, TIMEOUT_READ); // wait for processing
-    return client;
-  }
-
-  /**
-   * Manage which X509 certificates may be used to authenticate the remote side
-   * of a secure socket
-   */
-  private class InsecureTrustManager implements X509TrustManager {
-
-    /**
-     * {@inheritDoc}
-     */
-    @Override
-    public void checkClientTrusted(final X509Certificate[] chain, final String authType) {
-      // Everyone is trusted!
-    }
-
-    /**
-     * {@inheritDoc}
-     */
-    @Override
-    public void checkServerTrusted(final X509Certificate[] chain, final String authType) {
-      // Everyone is trusted!
-    }
-
-    /**
-     * {@inheritDoc}
-     */
-    @Override
-    public X509Certificate[] getAcceptedIssuers() {
-      return new X509Certificate[0];
-    }
+    return HttpClientFactory.getClient();
   }
 }
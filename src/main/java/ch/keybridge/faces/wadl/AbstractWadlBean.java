@@ -16,23 +16,18 @@
  */
 package ch.keybridge.faces.wadl;
 
+import ch.keybridge.faces.HttpClientFactory;
+import java.io.IOException;
 import java.io.Serializable;
-import java.security.KeyManagementException;
-import java.security.NoSuchAlgorithmException;
-import java.security.cert.CertificateException;
-import java.security.cert.X509Certificate;
+import java.io.StringReader;
 import java.util.*;
 import java.util.logging.Level;
 import java.util.logging.Logger;
-import java.util.stream.Collectors;
-import javax.net.ssl.SSLContext;
-import javax.net.ssl.TrustManager;
-import javax.net.ssl.X509TrustManager;
-import javax.ws.rs.client.Client;
-import javax.ws.rs.client.ClientBuilder;
-import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.MultivaluedHashMap;
 import javax.ws.rs.core.MultivaluedMap;
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+import javax.xml.stream.XMLStreamException;
 import net.java.dev.wadl.*;
 
 /**
@@ -46,6 +41,14 @@ import net.java.dev.wadl.*;
  *
  * @author Key Bridge LLC
  * @since v0.3.0 created 01/10/17 as an alternative to Swagger.io
+ * @since v5.2.0 share downloaded WADL snapshots 2021-02-12
+ * @since v5.2.0 use the shared HTTP client 2021-02-14
+ * @since v5.2.0 render methods from a precomputed view model 2021-02-15
+ * @since v5.2.0 find resources and methods from a shared index 2021-02-16
+ * @since v5.2.0 download and parse the WADL XML separately 2021-02-18
+ * @since v5.2.0 export the WADL as a static HTML document 2021-02-19
+ * @since v5.2.0 stream the WADL XML and skip grammars 2021-02-20
+ * @since v5.2.0 do not precompute views for a directly loaded WADL 2021-02-27
  */
 public abstract class AbstractWadlBean implements LabelProvider, Serializable {
 
@@ -64,6 +67,19 @@ public abstract class AbstractWadlBean implements LabelProvider, Serializable {
    * The URL to download the WADL file.
    */
   protected String wadlUrl;
+  /**
+   * The precomputed method views of the adopted WADL snapshot.
+   */
+  protected transient WadlRenderModel renderModel;
+  /**
+   * The resource and method lookup indexes of the adopted WADL snapshot.
+   */
+  protected transient WadlIndex index;
+  /**
+   * The method views built by this bean for methods that are not part of the
+   * adopted snapshot render model, keyed by method instance.
+   */
+  private transient Map<Method, WadlMethodView> methodViews;
 
   /**
    * Creates a new instance of WadlBean
@@ -111,7 +127,7 @@ public abstract class AbstractWadlBean implements LabelProvider, Serializable {
     try {
       downloadWADL(wadlUrl); // sets the wadlUrl field.
     } catch (Exception exception) {
-//      LOG.log(Level.INFO, "Error downloading WADL file: {0}", exception.getMessage());
+      LOG.log(Level.FINE, "Error downloading WADL file: {0}", exception.getMessage());
     }
   }
 
@@ -156,60 +172,181 @@ public abstract class AbstractWadlBean implements LabelProvider, Serializable {
   /**
    * Internal method called when this class is constructed. This reads and
    * parses the WADL file.
+   * <p>
+   * The application is used by this bean only, so no snapshot is built: the
+   * method views are built as rendered and the lookup indexes on first use.
    *
    * @param wadlUrl a fully qualified URL to a WADL file
    * @throws Exception if the {@code wadlUrl} value is null or the file fails to
    *                   parse.
    */
   private void downloadWADL(String wadlUrl) throws Exception {
+    use(wadlUrl, downloadApplication(wadlUrl), null, null);
+  }
+
+  /**
+   * Download, unmarshal and post-process a WADL file.
+   * <p>
+   * The returned application has its inter-object parent/child relationships
+   * set and is ready to render.
+   *
+   * @param wadlUrl a fully qualified URL to a WADL file
+   * @return the WADL application
+   * @throws Exception if the {@code wadlUrl} value is null or the file fails to
+   *                   download or parse.
+   * @since v5.2.0 refactored 2021-02-12 from downloadWADL to be shared
+   */
+  public static Application downloadApplication(String wadlUrl) throws Exception {
+    return parseApplication(downloadXml(wadlUrl));
+  }
+
+  /**
+   * Download the raw XML of a WADL file.
+   *
+   * @param wadlUrl a fully qualified URL to a WADL file
+   * @return the WADL XML
+   * @throws Exception if the {@code wadlUrl} value is null or the file fails to
+   *                   download.
+   * @since v5.2.0 added 2021-02-18
+   */
+  public static String downloadXml(String wadlUrl) throws Exception {
     /**
-     * Download and parse the WADL file.
+     * Download the WADL file.
      */
     if (wadlUrl == null || wadlUrl.isEmpty()) {
       throw new Exception("Null or empty wadl URL.");
     }
     /**
-     * Try to use an all-trusting trust manager that ignores all SSL errors.
+     * Use the shared trusting client, which ignores all SSL errors.
      */
-    Client client;
+    return HttpClientFactory.getClient().target(wadlUrl).request().get(String.class);
+  }
+
+  /**
+   * Unmarshal and post-process the XML of a WADL file.
+   * <p>
+   * The XML is streamed to the unmarshaller and the {@code grammars} element,
+   * which is never displayed, is skipped. The returned application has its
+   * inter-object parent/child relationships set and is ready to render.
+   *
+   * @param xml the WADL XML
+   * @return the WADL application
+   * @throws JAXBException      if the XML fails to unmarshal
+   * @throws XMLStreamException if the XML is not well formed
+   * @since v5.2.0 added 2021-02-18
+   * @since v5.2.0 stream the XML and skip grammars 2021-02-20
+   */
+  public static Application parseApplication(String xml) throws JAXBException, XMLStreamException {
+    WadlStreamReader reader = WadlStreamReader.create(new StringReader(xml));
+    Application application;
     try {
-      SSLContext sslcontext = SSLContext.getInstance("TLSv1.2"); //Java 8   // NoSuchAlgorithmException
-      System.setProperty("https.protocols", "TLSv1.2");  //Java 8
-      sslcontext.init(null, new TrustManager[]{new X509TrustManager() {
-        @Override
-        public void checkClientTrusted(X509Certificate[] arg0, String arg1) throws CertificateException {
-        }
-
-        @Override
-        public void checkServerTrusted(X509Certificate[] arg0, String arg1) throws CertificateException {
-        }
-
-        @Override
-        public X509Certificate[] getAcceptedIssuers() {
-          return new X509Certificate[0];
-        }
-
-      }}, new java.security.SecureRandom());
-      client = ClientBuilder.newBuilder().sslContext(sslcontext).hostnameVerifier((s1, s2) -> true).build();
-    } catch (NoSuchAlgorithmException | KeyManagementException noSuchAlgorithmException) {
-      client = ClientBuilder.newClient();
+      application = JaxbHolder.CONTEXT.createUnmarshaller()
+        .unmarshal(reader, Application.class)
+        .getValue();
+    } finally {
+      reader.close();
     }
-    /**
-     * Read and unmarshal the application from the WADL file.
-     */
-    this.application = client.target(wadlUrl).request().get(Application.class);
+    LOG.log(Level.FINE, "Parsed WADL of {0} characters, skipped {1} element(s)", new Object[]{xml.length(), reader.getSkipped()});
     /**
      * Call PostLoad to set the inter-object parent/child relationships.
      */
-    this.application.postLoad();
+    application.postLoad();
+    return application;
+  }
+
+  /**
+   * Lazy initialization holder for the WADL JAXB context, which is expensive
+   * to create and thread safe.
+   */
+  private static class JaxbHolder {
+
+    private static final JAXBContext CONTEXT;
+
+    static {
+      try {
+        CONTEXT = JAXBContext.newInstance(Application.class);
+      } catch (JAXBException exception) {
+        throw new ExceptionInInitializerError(exception);
+      }
+    }
+  }
+
+  /**
+   * Use a loaded WADL snapshot. The snapshot application is shared and must
+   * not be modified.
+   *
+   * @param snapshot the WADL snapshot; ignored if null
+   * @since v5.2.0 added 2021-02-12
+   */
+  public void adopt(WadlSnapshot snapshot) {
+    if (snapshot == null) {
+      return;
+    }
+    use(snapshot.getUrl(), snapshot.getApplication(), snapshot.getRenderModel(), snapshot.getIndex());
+  }
+
+  /**
+   * Use a loaded WADL application.
+   *
+   * @param url         the WADL URL
+   * @param application the WADL application
+   * @param renderModel the precomputed method views; null to build views as
+   *                    rendered
+   * @param index       the lookup indexes; null to build on first use
+   */
+  private void use(String url, Application application, WadlRenderModel renderModel, WadlIndex index) {
+    this.application = application;
+    this.renderModel = renderModel;
+    this.index = index;
+    this.methodViews = null;
     /**
      * Set the WADL IFF the application was successfully loaded and parsed.
      */
-    this.wadl = wadlUrl;
+    this.wadl = url;
     /**
      * Record the WADL url.
      */
-    this.wadlUrl = wadlUrl;
+    this.wadlUrl = url;
+  }
+
+  /**
+   * Get the precomputed view of a method for rendering. Views are shared by all
+   * beans using the same WADL snapshot. A view is built on demand if the method
+   * is not part of the adopted snapshot (e.g. a directly loaded WADL) and is
+   * then kept by this bean, as the method component evaluates the view once
+   * per field it renders.
+   *
+   * @param method the method
+   * @return the method view; null if the method is null
+   * @since v5.2.0 added 2021-02-15
+   * @since v5.2.0 keep views built on demand 2021-02-27
+   */
+  public WadlMethodView getMethodView(Method method) {
+    if (method == null) {
+      return null;
+    }
+    WadlMethodView view = renderModel != null ? renderModel.get(method) : null;
+    if (view == null) {
+      if (methodViews == null) {
+        methodViews = new IdentityHashMap<>();
+      }
+      view = methodViews.computeIfAbsent(method, WadlMethodView::new);
+    }
+    return view;
+  }
+
+  /**
+   * Write the current WADL as a self-contained HTML document, using this bean
+   * to provide the labels. The output may be served as a static resource.
+   *
+   * @param output the output
+   * @throws IOException if the output cannot be written
+   * @since v5.2.0 added 2021-02-19
+   */
+  public void exportHtml(Appendable output) throws IOException {
+    if (application != null) {
+      new WadlHtmlExporter(application, this).writeHtml(output);
+    }
   }
 
   /**
@@ -255,7 +392,7 @@ public abstract class AbstractWadlBean implements LabelProvider, Serializable {
      * If the application is not set the return an empty resource.
      */
     return application != null
-           ? application.findResources(base)
+           ? getIndex().findResources(base)
            : new Resources();
   }
 
@@ -269,7 +406,7 @@ public abstract class AbstractWadlBean implements LabelProvider, Serializable {
    * @return the matching Resource.
    */
   public Resource findResource(String path) {
-    return application.findResource(path);
+    return application != null ? getIndex().findResource(path) : null;
   }
 
   /**
@@ -280,7 +417,8 @@ public abstract class AbstractWadlBean implements LabelProvider, Serializable {
    * displaying a page detail.
    *
    * @param resource the Resource
-   * @return a non-null ArrayList.
+   * @return a sorted, non-null ArrayList. The list is a copy and may be
+   *         modified by the caller.
    */
   public List<Method> findMethods(Resource resource) {
     /**
@@ -291,33 +429,46 @@ public abstract class AbstractWadlBean implements LabelProvider, Serializable {
     }
 
     /**
-     * Initialize and recursively populate the methods array. Recurse if the
-     * found resource is not null.
-     */
-    ArrayList methods = new ArrayList();
-    if (resource != null) {
-      methods.addAll(findMethodsRecursive(resource));
-    }
-    /**
-     * Sort the array in alphabetical order.
+     * Copy the sorted methods of the resource and its sub-resources. The
+     * indexed list is shared.
      */
-    Collections.sort(methods);
-    return methods;
+    return new ArrayList<>(getIndex().findMethods(resource));
+  }
+
+  /**
+   * Find a method by its id.
+   *
+   * @param id the method id
+   * @return the method; null if not found
+   * @since v5.2.0 added 2021-02-16
+   */
+  public Method findMethod(String id) {
+    return application != null ? getIndex().findMethod(id) : null;
+  }
+
+  /**
+   * Find all methods with the indicated HTTP verb. e.g. "GET"
+   *
+   * @param verb the HTTP verb
+   * @return a sorted, non-null ArrayList that may be modified by the caller
+   * @since v5.2.0 added 2021-02-16
+   */
+  public List<Method> findMethodsByVerb(String verb) {
+    return application != null ? new ArrayList<>(getIndex().findMethodsByVerb(verb)) : new ArrayList<>();
   }
 
   /**
-   * Recursively a {@code Resource} instance to identify and extract all
-   * methods.
+   * Get the lookup indexes of the current application. The indexes are built
+   * here if the application was not adopted from a snapshot.
    *
-   * @param resource a {@code Resource} instance
-   * @return a list of all methods in the Resource tree
+   * @return the WADL index
+   * @since v5.2.0 added 2021-02-16
    */
-  private List<Method> findMethodsRecursive(Resource resource) {
-    List<Method> tempMethods = new ArrayList<>(resource.getMethods());
-    resource.getResources().stream().forEach((res) -> {
-      tempMethods.addAll(findMethodsRecursive(res));
-    });
-    return tempMethods;
+  protected WadlIndex getIndex() {
+    if (index == null) {
+      index = new WadlIndex(application);
+    }
+    return index;
   }
 
   /**
@@ -339,17 +490,7 @@ public abstract class AbstractWadlBean implements LabelProvider, Serializable {
    *         types
    */
   public MultivaluedMap<String, Representation> findMethodRequestElements(Method method) {
-    MultivaluedMap<String, Representation> elementMediaTypes = new MultivaluedHashMap<>();
-    if (HTTPMethods.PUT.equals(method.getName()) || HTTPMethods.POST.equals(method.getName())) {
-      if (method.getRequest() != null) {
-        method.getRequest().getRepresentation().stream().forEach((Representation representation) -> {
-          if (representation.getElement() != null) {
-            elementMediaTypes.add(representation.getElement().getLocalPart(), representation);
-          }
-        });
-      }
-    }
-    return elementMediaTypes;
+    return toMultivaluedMap(WadlMethodView.findRequestElements(method));
   }
 
   /**
@@ -364,17 +505,7 @@ public abstract class AbstractWadlBean implements LabelProvider, Serializable {
    *         types
    */
   public MultivaluedMap<Representation, Param> findUploadMethodElements(Method method) {
-    MultivaluedMap<Representation, Param> formElements = new MultivaluedHashMap<>();
-    if (HTTPMethods.PUT.equals(method.getName()) || HTTPMethods.POST.equals(method.getName())) {
-      if (method.getRequest() != null) {
-        method.getRequest().getRepresentation().stream().forEach(representation -> {
-          representation.getParam().stream().forEach(param -> {
-            formElements.add(representation, param);
-          });
-        });
-      }
-    }
-    return formElements;
+    return toMultivaluedMap(WadlMethodView.findUploadElements(method));
   }
 
   /**
@@ -389,18 +520,21 @@ public abstract class AbstractWadlBean implements LabelProvider, Serializable {
    *         types
    */
   public MultivaluedMap<String, Representation> findMethodResponseElements(Response response) {
-    MultivaluedMap<String, Representation> elementMediaTypes = new MultivaluedHashMap<>();
-    try {
-      response.getRepresentation().stream().forEach((representation) -> {
-        elementMediaTypes.add(representation.getElement() != null
-                              ? representation.getElement().getLocalPart()
-                              : "Response",
-                              representation);
-      });
-    } catch (Exception e) {
-      LOG.log(Level.WARNING, "findMethodResponseElements ERROR.  {0}", e.getMessage());
-    }
-    return elementMediaTypes;
+    return toMultivaluedMap(WadlMethodView.findResponseElements(response));
+  }
+
+  /**
+   * Copy an ordered map of lists into a MultivaluedMap.
+   *
+   * @param <K> the key type
+   * @param <V> the value type
+   * @param map the map
+   * @return a new MultivaluedMap
+   */
+  private static <K, V> MultivaluedMap<K, V> toMultivaluedMap(Map<K, List<V>> map) {
+    MultivaluedMap<K, V> multivaluedMap = new MultivaluedHashMap<>();
+    multivaluedMap.putAll(map);
+    return multivaluedMap;
   }
 
   /**
@@ -413,31 +547,7 @@ public abstract class AbstractWadlBean implements LabelProvider, Serializable {
    * @return a non-null ArrayList
    */
   public List<Param> findMethodParameters(Method method) {
-    /**
-     * Create a sorted TreeSet. Use a TreeSet to avoid duplicate parameters
-     * where multiple encodings are allowed (which is an erroneous configuration
-     * but Jersey appears to allow it.
-     */
-    Comparator<Param> comparator = (Param o1, Param o2) -> o1.getName().compareTo(o2.getName());
-    Collection<Param> parameters = new TreeSet(comparator);
-    parameters.addAll(method.getParent().getParam());
-    /**
-     * Add all request parameters. This captures Query and Template method
-     * parameters plus Post headers.
-     */
-    try {
-      if (method.isSetRequest()) {
-        parameters.addAll(method.getRequest().getParam());
-      }
-    } catch (Exception e) {
-      LOG.log(Level.WARNING, "findMethodParameters ERROR for method {0}.  {1}", new Object[]{method.getId(), e.getMessage()});
-    }
-    /**
-     * Use a parameter name filter to omit the javax.ws.rs.container.Suspended
-     * attribute, which is picked up for asynchronous REST methods.
-     */
-    return parameters.stream().filter(p -> !p.getName().startsWith("javax.ws")).collect(Collectors.toList());
-//    return new ArrayList<>(parameters);
+    return WadlMethodView.findParameters(method);
   }
 
   /**
@@ -447,7 +557,7 @@ public abstract class AbstractWadlBean implements LabelProvider, Serializable {
    * @return TRUE if the method name is either PUT or POST, otherwise FALSE
    */
   public boolean isPutOrPost(Method method) {
-    return HTTPMethods.PUT.equals(method.getName()) || HTTPMethods.POST.equals(method.getName());
+    return WadlMethodView.isPutOrPost(method);
   }
 
   /**
@@ -462,34 +572,7 @@ public abstract class AbstractWadlBean implements LabelProvider, Serializable {
    * @return the label class
    */
   public String buildCSSType(String methodName) {
-    switch (methodName) {
-      case "HEAD":
-      case "OPTIONS":
-      case "application/geojson":
-      case "application/geo+json":
-      case MediaType.APPLICATION_JSON:
-        return "info";
-
-      case "GET":
-      case MediaType.APPLICATION_XML:
-        return "primary";
-
-      case "POST":
-        return "success";
-
-      case "PUT":
-        return "warning";
-
-      case "DELETE":
-      case MediaType.MULTIPART_FORM_DATA:
-        return "danger";
-
-      case MediaType.TEXT_HTML:
-      case MediaType.TEXT_PLAIN:
-      case MediaType.TEXT_XML:
-      default:
-        return "secondary";
-    }
+    return WadlMethodView.cssType(methodName);
   }
 
   /**
@@ -500,7 +583,7 @@ public abstract class AbstractWadlBean implements LabelProvider, Serializable {
    * @return the HTML-coded URI pattern.
    */
   public String buildFormattedURI(String uriPattern) {
-    return uriPattern.replaceAll("\\{(\\w+)\\}", "<span class=\"wadl-param\">{$1}</span>");
+    return WadlMethodView.formatURI(uriPattern);
   }
 
   /**
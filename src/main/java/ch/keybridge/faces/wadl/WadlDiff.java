@@ -0,0 +1,175 @@
+/*
+ * Copyright (C) 2017 Key Bridge LLC
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package ch.keybridge.faces.wadl;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.TreeSet;
+import net.java.dev.wadl.*;
+
+/**
+ * The structural difference between two WADL applications.
+ * <p>
+ * Methods are matched by id and compared by a fingerprint of everything that
+ * is rendered: the HTTP verb, the paths, the parameters and the request and
+ * response representations. Documentation and grammars are not compared.
+ *
+ * @author Key Bridge
+ * @since v5.2.0 created 2021-02-21 to detect WADL changes on refresh
+ */
+public final class WadlDiff {
+
+  /**
+   * The ids of methods that were added.
+   */
+  private final Set<String> added = new TreeSet<>();
+  /**
+   * The ids of methods that were removed.
+   */
+  private final Set<String> removed = new TreeSet<>();
+  /**
+   * The ids of methods that were changed.
+   */
+  private final Set<String> changed = new TreeSet<>();
+
+  /**
+   * Compare two indexed WADL applications.
+   *
+   * @param previous the previous index
+   * @param current  the current index
+   * @return the difference
+   */
+  public static WadlDiff compare(WadlIndex previous, WadlIndex current) {
+    WadlDiff diff = new WadlDiff();
+    for (String id : previous.getMethodIds()) {
+      Method method = current.findMethod(id);
+      if (method == null) {
+        diff.removed.add(id);
+      } else if (!fingerprint(previous.findMethod(id)).equals(fingerprint(method))) {
+        diff.changed.add(id);
+      }
+    }
+    for (String id : current.getMethodIds()) {
+      if (previous.findMethod(id) == null) {
+        diff.added.add(id);
+      }
+    }
+    return diff;
+  }
+
+  /**
+   * Build a fingerprint of the rendered structure of a method.
+   *
+   * @param method the method
+   * @return the fingerprint
+   */
+  static String fingerprint(Method method) {
+    StringBuilder sb = new StringBuilder(256)
+      .append(method.getName()).append(' ').append(method.getPath());
+    if (method.getParent() != null) {
+      sb.append(' ').append(method.getParent().getPath());
+    }
+    for (Param param : WadlMethodView.findParameters(method)) {
+      append(sb, param);
+    }
+    if (method.getRequest() != null) {
+      sb.append("\nrequest");
+      for (Representation representation : method.getRequest().getRepresentation()) {
+        append(sb, representation);
+        for (Param param : representation.getParam()) {
+          append(sb, param);
+        }
+      }
+    }
+    if (method.getResponse() != null) {
+      for (Response response : method.getResponse()) {
+        sb.append("\nresponse");
+        for (Representation representation : response.getRepresentation()) {
+          append(sb, representation);
+        }
+      }
+    }
+    return sb.toString();
+  }
+
+  /**
+   * Append a parameter to a fingerprint.
+   *
+   * @param sb    the fingerprint
+   * @param param the parameter
+   */
+  private static void append(StringBuilder sb, Param param) {
+    sb.append("\n param ").append(param.getName())
+      .append(' ').append(param.getType())
+      .append(' ').append(param.getStyle())
+      .append(' ').append(param.getPath())
+      .append(' ').append(param.getDefault());
+  }
+
+  /**
+   * Append a representation to a fingerprint.
+   *
+   * @param sb             the fingerprint
+   * @param representation the representation
+   */
+  private static void append(StringBuilder sb, Representation representation) {
+    sb.append("\n representation ").append(representation.getMediaType())
+      .append(' ').append(representation.getElement());
+  }
+
+  /**
+   * Determine if the applications are structurally identical.
+   *
+   * @return TRUE if no method was added, removed or changed
+   */
+  public boolean isEmpty() {
+    return added.isEmpty() && removed.isEmpty() && changed.isEmpty();
+  }
+
+  /**
+   * Get the ids of methods that were added.
+   *
+   * @return the sorted method ids
+   */
+  public Set<String> getAdded() {
+    return Collections.unmodifiableSet(added);
+  }
+
+  /**
+   * Get the ids of methods that were removed.
+   *
+   * @return the sorted method ids
+   */
+  public Set<String> getRemoved() {
+    return Collections.unmodifiableSet(removed);
+  }
+
+  /**
+   * Get the ids of methods that were changed.
+   *
+   * @return the sorted method ids
+   */
+  public Set<String> getChanged() {
+    return Collections.unmodifiableSet(changed);
+  }
+
+  @Override
+  public String toString() {
+    return "WadlDiff added " + added.size() + " removed " + removed.size() + " changed " + changed.size();
+  }
+
+}
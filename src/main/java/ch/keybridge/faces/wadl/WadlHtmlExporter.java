@@ -0,0 +1,481 @@
+/*
+ * Copyright (C) 2017 Key Bridge LLC
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package ch.keybridge.faces.wadl;
+
+import ch.keybridge.faces.markdown.MarkdownEngine;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import net.java.dev.wadl.*;
+
+/**
+ * Static WADL documentation exporter.
+ * <p>
+ * Renders every resource and method of a WADL application to one
+ * self-contained HTML document, with the style sheet inlined, or to a Markdown
+ * document. The output follows the layout of the {@code wadl/method.xhtml}
+ * component and may be served as a plain static resource with no per-request
+ * JSF cost.
+ * <p>
+ * Labels and descriptions are read from a {@link LabelProvider}; any
+ * {@code AbstractWadlBean} may be used. From the command line the labels are
+ * read from a {@code wadl.properties} file. e.g.
+ * <pre>
+ * java ch.keybridge.faces.wadl.WadlHtmlExporter http://localhost/app/rest/application.wadl api.html wadl.properties
+ * </pre>
+ *
+ * @author Key Bridge
+ * @since v5.2.0 created 2021-02-19 to serve WADL documentation as a static page
+ */
+public class WadlHtmlExporter {
+
+  /**
+   * ".md". The file extension that selects Markdown output.
+   */
+  private static final String MD = ".md";
+
+  /**
+   * The inlined style sheet. A compact subset of the Bootstrap classes and the
+   * wadl.css rules used by the {@code wadl/method.xhtml} component.
+   */
+  private static final String CSS = "body{font-family:-apple-system,\"Segoe UI\",Roboto,Helvetica,Arial,sans-serif;color:#212529;margin:0 auto;max-width:1100px;padding:1rem}"
+    + "code,.text-monospace,.wadl-uri{font-family:SFMono-Regular,Menlo,Consolas,monospace}"
+    + ".card{border:1px solid #dee2e6;border-radius:.25rem;margin-bottom:1rem}"
+    + ".card-header{background:#f7f7f9;padding:.5rem 1rem;overflow:hidden}"
+    + ".card-body{padding:1rem}"
+    + ".wadl-button{display:inline-block;min-width:5rem;text-align:center;color:#fff;border-radius:.25rem;padding:.1rem .5rem;margin-right:.5rem;font-weight:bold}"
+    + ".wadl-label{font-weight:bold}.wadl-param{color:#007bff}.wadl-uri{display:block;margin-bottom:1rem}"
+    + ".float-right{float:right}.text-small{font-size:80%}.text-bold{font-weight:bold}.text-muted{color:#6c757d}"
+    + ".table{width:100%;border-collapse:collapse;margin-bottom:1rem}.table td{padding:.3rem;vertical-align:top}"
+    + ".bg-info{background:#17a2b8}.bg-primary{background:#007bff}.bg-success{background:#28a745}"
+    + ".bg-warning{background:#ffc107}.bg-danger{background:#dc3545}.bg-secondary{background:#6c757d}"
+    + ".text-info{color:#17a2b8}.text-primary{color:#007bff}.text-success{color:#28a745}"
+    + ".text-warning{color:#d39e00}.text-danger{color:#dc3545}.text-secondary{color:#6c757d}"
+    + ".border-info{border-color:#17a2b8}.border-primary{border-color:#007bff}.border-success{border-color:#28a745}"
+    + ".border-warning{border-color:#ffc107}.border-danger{border-color:#dc3545}.border-secondary{border-color:#6c757d}";
+
+  /**
+   * The WADL application.
+   */
+  private final Application application;
+  /**
+   * The resource and method lookup indexes.
+   */
+  private final WadlIndex index;
+  /**
+   * The precomputed method views.
+   */
+  private final WadlRenderModel renderModel;
+  /**
+   * The label provider.
+   */
+  private final LabelProvider labels;
+  /**
+   * The document title.
+   */
+  private String title = "REST API";
+
+  /**
+   * Construct a new exporter for a WADL snapshot. The snapshot index and method
+   * views are reused.
+   *
+   * @param snapshot the WADL snapshot
+   * @param labels   the label provider
+   */
+  public WadlHtmlExporter(WadlSnapshot snapshot, LabelProvider labels) {
+    this.application = snapshot.getApplication();
+    this.index = snapshot.getIndex();
+    this.renderModel = snapshot.getRenderModel();
+    this.labels = labels;
+  }
+
+  /**
+   * Construct a new exporter for a WADL application.
+   *
+   * @param application the unmarshaled and post-processed WADL application
+   * @param labels      the label provider
+   */
+  public WadlHtmlExporter(Application application, LabelProvider labels) {
+    this.application = application;
+    this.index = new WadlIndex(application);
+    this.renderModel = new WadlRenderModel(application);
+    this.labels = labels;
+  }
+
+  /**
+   * Set the document title. The default is "REST API".
+   *
+   * @param title the document title
+   * @return this exporter
+   */
+  public WadlHtmlExporter withTitle(String title) {
+    this.title = title;
+    return this;
+  }
+
+  //<editor-fold defaultstate="collapsed" desc="HTML">
+  /**
+   * Write the WADL documentation as a self-contained HTML document.
+   *
+   * @param out the output
+   * @throws IOException if the output cannot be written
+   */
+  public void writeHtml(Appendable out) throws IOException {
+    out.append("<!DOCTYPE html>\n<html>\n<head>\n<meta charset=\"UTF-8\"/>\n<title>").append(escape(title)).append("</title>\n")
+      .append("<style>").append(CSS).append("</style>\n</head>\n<body>\n")
+      .append("<h1>").append(escape(title)).append("</h1>\n");
+    for (Resources resources : application.getResources()) {
+      out.append("<section class=\"wadl-resources\">\n<h2 class=\"text-muted\">").append(escape(resources.getBase())).append("</h2>\n");
+      for (Resource resource : resources.getResource()) {
+        out.append("<h3 id=\"").append(escape(resource.getPath())).append("\">")
+          .append(WadlMethodView.formatURI(escape(resource.getPath()))).append("</h3>\n");
+        for (Method method : index.findMethods(resource)) {
+          writeHtml(view(method), out);
+        }
+      }
+      out.append("</section>\n");
+    }
+    out.append("</body>\n</html>\n");
+  }
+
+  /**
+   * Write one method as HTML.
+   *
+   * @param view the method view
+   * @param out  the output
+   * @throws IOException if the output cannot be written
+   */
+  private void writeHtml(WadlMethodView view, Appendable out) throws IOException {
+    out.append("<div class=\"wadl-method card border-").append(view.getCssType()).append("\" id=\"").append(escape(view.getId())).append("\">\n")
+      .append("<div class=\"card-header\"><span class=\"wadl-button bg-").append(view.getCssType()).append("\">").append(escape(view.getName())).append("</span>")
+      .append("<span class=\"wadl-label\">").append(escape(labels.parseMethodId(view.getId()))).append("</span>");
+    if (view.getFormattedParentPath() != null) {
+      out.append("<span class=\"text-small float-right\">").append(view.getFormattedParentPath()).append("</span>");
+    }
+    out.append("</div>\n<div class=\"card-body\">\n");
+    if (view.getFormattedPath() != null) {
+      out.append("<span class=\"wadl-uri\">").append(view.getFormattedPath()).append("</span>\n");
+    }
+    append(out, "<div class=\"card-text\">", labels.getMethodDescription(view.getId()), "</div>\n");
+    if (!view.getParameters().isEmpty()) {
+      out.append("<span class=\"text-small\">Parameters</span>\n");
+      writeHtml(view, view.getParameters(), out);
+    }
+    for (Map.Entry<Representation, List<Param>> entry : view.getUploadElements()) {
+      out.append("<span class=\"text-small\">Form parameters <code class=\"float-right\">")
+        .append(escape(entry.getKey().getMediaType())).append("</code></span>\n");
+      writeHtml(view, entry.getValue(), out);
+    }
+    if (!view.getRequestElements().isEmpty()) {
+      out.append("<span class=\"text-small\">Request</span>\n");
+      writeElementsHtml(view, view.getRequestElements(), out);
+    }
+    out.append("<span class=\"text-small\">Response</span>\n");
+    for (List<Map.Entry<String, List<Representation>>> response : view.getResponses()) {
+      writeElementsHtml(view, response, out);
+    }
+    out.append("</div>\n</div>\n");
+  }
+
+  /**
+   * Write a parameter table as HTML.
+   *
+   * @param view       the method view
+   * @param parameters the parameters
+   * @param out        the output
+   * @throws IOException if the output cannot be written
+   */
+  private void writeHtml(WadlMethodView view, List<Param> parameters, Appendable out) throws IOException {
+    out.append("<table class=\"table\">\n");
+    for (Param p : parameters) {
+      out.append("<tr><td class=\"text-bold\">").append(escape(p.getName())).append("</td>")
+        .append("<td class=\"text-small text-monospace text-success\">").append(p.getType() != null ? escape(p.getType().getLocalPart()) : "").append("</td>")
+        .append("<td class=\"text-small text-monospace text-muted\">").append(p.getStyle() != null ? escape(p.getStyle().toString()) : "").append("</td><td>");
+      append(out, "", labels.getLabel(view.getId(), p.getName()), "");
+      append(out, "<span class=\"text-small text-muted\"> Name = <code>", escape(p.getPath()), "</code></span>");
+      append(out, "<span class=\"text-small text-muted\"> Default = <code>", escape(p.getDefault()), "</code></span>");
+      out.append("</td></tr>\n");
+    }
+    out.append("</table>\n");
+  }
+
+  /**
+   * Write request or response elements as HTML.
+   *
+   * @param view     the method view
+   * @param elements the element names and their representations
+   * @param out      the output
+   * @throws IOException if the output cannot be written
+   */
+  private void writeElementsHtml(WadlMethodView view, List<Map.Entry<String, List<Representation>>> elements, Appendable out) throws IOException {
+    for (Map.Entry<String, List<Representation>> entry : elements) {
+      out.append("<div><span class=\"text-bold\">").append(escape(entry.getKey())).append("</span><span class=\"float-right\">");
+      for (Representation representation : entry.getValue()) {
+        out.append(" <span class=\"text-small text-").append(WadlMethodView.cssType(representation.getMediaType())).append("\">")
+          .append(escape(representation.getMediaType())).append("</span>");
+      }
+      out.append("</span></div>\n");
+      append(out, "<div>", labels.getLabel(view.getId(), entry.getKey()), "</div>\n");
+    }
+  }//</editor-fold>
+
+  //<editor-fold defaultstate="collapsed" desc="Markdown">
+  /**
+   * Write the WADL documentation as a Markdown document. Labels are included
+   * as HTML.
+   *
+   * @param out the output
+   * @throws IOException if the output cannot be written
+   */
+  public void writeMarkdown(Appendable out) throws IOException {
+    out.append("# ").append(title).append("\n\n");
+    for (Resources resources : application.getResources()) {
+      out.append("## ").append(resources.getBase()).append("\n\n");
+      for (Resource resource : resources.getResource()) {
+        out.append("### `").append(resource.getPath()).append("`\n\n");
+        for (Method method : index.findMethods(resource)) {
+          writeMarkdown(view(method), out);
+        }
+      }
+    }
+  }
+
+  /**
+   * Write one method as Markdown.
+   *
+   * @param view the method view
+   * @param out  the output
+   * @throws IOException if the output cannot be written
+   */
+  private void writeMarkdown(WadlMethodView view, Appendable out) throws IOException {
+    out.append("#### ").append(view.getName()).append(" ").append(labels.parseMethodId(view.getId())).append("\n\n");
+    if (view.getMethod().getPath() != null) {
+      out.append("`").append(view.getMethod().getPath()).append("`\n\n");
+    }
+    append(out, "", labels.getMethodDescription(view.getId()), "\n\n");
+    if (!view.getParameters().isEmpty()) {
+      writeMarkdown(view, "Parameters", view.getParameters(), out);
+    }
+    for (Map.Entry<Representation, List<Param>> entry : view.getUploadElements()) {
+      writeMarkdown(view, "Form parameters `" + entry.getKey().getMediaType() + "`", entry.getValue(), out);
+    }
+    writeElementsMarkdown(view, "Request", view.getRequestElements(), out);
+    for (List<Map.Entry<String, List<Representation>>> response : view.getResponses()) {
+      writeElementsMarkdown(view, "Response", response, out);
+    }
+  }
+
+  /**
+   * Write a parameter table as Markdown.
+   *
+   * @param view       the method view
+   * @param heading    the table heading
+   * @param parameters the parameters
+   * @param out        the output
+   * @throws IOException if the output cannot be written
+   */
+  private void writeMarkdown(WadlMethodView view, String heading, List<Param> parameters, Appendable out) throws IOException {
+    out.append("**").append(heading).append("**\n\n| Name | Type | Style | Description |\n|---|---|---|---|\n");
+    for (Param p : parameters) {
+      out.append("| ").append(cell(p.getName()))
+        .append(" | ").append(p.getType() != null ? cell(p.getType().getLocalPart()) : "")
+        .append(" | ").append(p.getStyle() != null ? cell(p.getStyle().toString()) : "")
+        .append(" | ").append(cell(labels.getLabel(view.getId(), p.getName())))
+        .append(" |\n");
+    }
+    out.append("\n");
+  }
+
+  /**
+   * Write request or response elements as Markdown.
+   *
+   * @param view     the method view
+   * @param heading  the heading
+   * @param elements the element names and their representations
+   * @param out      the output
+   * @throws IOException if the output cannot be written
+   */
+  private void writeElementsMarkdown(WadlMethodView view, String heading, List<Map.Entry<String, List<Representation>>> elements, Appendable out) throws IOException {
+    if (elements.isEmpty()) {
+      return;
+    }
+    out.append("**").append(heading).append("**\n\n");
+    for (Map.Entry<String, List<Representation>> entry : elements) {
+      out.append("- `").append(entry.getKey()).append("`");
+      for (Representation representation : entry.getValue()) {
+        out.append(" ").append(representation.getMediaType());
+      }
+      append(out, " ", cell(labels.getLabel(view.getId(), entry.getKey())), "");
+      out.append("\n");
+    }
+    out.append("\n");
+  }//</editor-fold>
+
+  /**
+   * Get the precomputed view of a method.
+   *
+   * @param method the method
+   * @return the method view
+   */
+  private WadlMethodView view(Method method) {
+    WadlMethodView view = renderModel.get(method);
+    return view != null ? view : new WadlMethodView(method);
+  }
+
+  /**
+   * Append a value between a prefix and suffix, if the value is not null or
+   * empty.
+   *
+   * @param out    the output
+   * @param prefix the prefix
+   * @param value  the value
+   * @param suffix the suffix
+   * @throws IOException if the output cannot be written
+   */
+  private static void append(Appendable out, String prefix, String value, String suffix) throws IOException {
+    if (value != null && !value.isEmpty()) {
+      out.append(prefix).append(value).append(suffix);
+    }
+  }
+
+  /**
+   * Escape text for HTML.
+   *
+   * @param text the text
+   * @return the escaped text; empty if the text is null
+   */
+  static String escape(String text) {
+    if (text == null) {
+      return "";
+    }
+    StringBuilder sb = new StringBuilder(text.length() + 16);
+    for (int i = 0; i < text.length(); i++) {
+      char c = text.charAt(i);
+      switch (c) {
+        case '<':
+          sb.append("&lt;");
+          break;
+        case '>':
+          sb.append("&gt;");
+          break;
+        case '&':
+          sb.append("&amp;");
+          break;
+        case '"':
+          sb.append("&quot;");
+          break;
+        default:
+          sb.append(c);
+      }
+    }
+    return sb.toString();
+  }
+
+  /**
+   * Format text for a single line Markdown table cell.
+   *
+   * @param text the text
+   * @return the cell text; empty if the text is null
+   */
+  static String cell(String text) {
+    return text == null ? "" : text.replace("|", "\\|").replaceAll("\\s*\\n\\s*", " ").trim();
+  }
+
+  /**
+   * Command line entry point.
+   *
+   * @param args the WADL URL or file, the output file and (optionally) a
+   *             labels properties file. The output is Markdown if the output
+   *             file name ends with {@code .md}, otherwise HTML.
+   * @throws Exception if the WADL cannot be read or the output written
+   */
+  public static void main(String[] args) throws Exception {
+    if (args.length < 2) {
+      System.err.println("Usage: WadlHtmlExporter wadl-url|wadl-file output-file [labels.properties]");
+      System.exit(1);
+    }
+    String xml = Files.isRegularFile(Paths.get(args[0]))
+                 ? new String(Files.readAllBytes(Paths.get(args[0])), StandardCharsets.UTF_8)
+                 : AbstractWadlBean.downloadXml(args[0]);
+    Properties properties = new Properties();
+    if (args.length > 2) {
+      try (Reader reader = Files.newBufferedReader(Paths.get(args[2]), StandardCharsets.UTF_8)) {
+        properties.load(reader);
+      }
+    }
+    Path output = Paths.get(args[1]);
+    WadlHtmlExporter exporter = new WadlHtmlExporter(AbstractWadlBean.parseApplication(xml), new PropertiesLabelProvider(properties));
+    try (Writer writer = Files.newBufferedWriter(output, StandardCharsets.UTF_8)) {
+      if (output.getFileName().toString().endsWith(MD)) {
+        exporter.writeMarkdown(writer);
+      } else {
+        exporter.writeHtml(writer);
+      }
+    }
+    System.out.println("WadlHtmlExporter wrote " + args[0] + " to " + output);
+  }
+
+  /**
+   * Label provider that reads Markdown labels from a properties file, using
+   * the same keys as the {@code wadl} resource bundle.
+   */
+  static class PropertiesLabelProvider implements LabelProvider {
+
+    /**
+     * The labels.
+     */
+    private final Properties properties;
+
+    PropertiesLabelProvider(Properties properties) {
+      this.properties = properties;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Insert a space before every capital character.
+     */
+    @Override
+    public String parseMethodId(String methodId) {
+      return methodId == null ? "" : methodId.replaceAll("(?<=.)(\\p{Lu})", " $1");
+    }
+
+    @Override
+    public String getLabel(String key) {
+      String label = properties.getProperty(key);
+      return label == null ? null : MarkdownEngine.full().toHtmlUncached(label);
+    }
+
+    @Override
+    public String getLabel(String method, String parameter) {
+      return getLabel(method + "_" + parameter);
+    }
+
+    @Override
+    public String getMethodDescription(String key) {
+      return getLabel(key);
+    }
+  }
+
+}
@@ -0,0 +1,222 @@
+/*
+ * Copyright (C) 2017 Key Bridge LLC
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package ch.keybridge.faces.wadl;
+
+import java.util.*;
+import net.java.dev.wadl.Application;
+import net.java.dev.wadl.Method;
+import net.java.dev.wadl.Resource;
+import net.java.dev.wadl.Resources;
+
+/**
+ * Lookup indexes for one WADL application.
+ * <p>
+ * All indexes are built once when the index is created by walking the finite
+ * resource tree: the methods by resource, by method id and by HTTP verb, and
+ * the resources by path and by base. Each method list is sorted. A path or base
+ * that is not in the application is not found and is not remembered, so
+ * lookups of arbitrary values do not grow the index.
+ * <p>
+ * The index is shared by all beans using the same {@link WadlSnapshot}. All
+ * returned lists are unmodifiable.
+ *
+ * @author Key Bridge
+ * @since v5.2.0 created 2021-02-16 to avoid walking the WADL tree per lookup
+ * @since v5.2.0 build the resource indexes up front 2021-02-27
+ */
+public final class WadlIndex {
+
+  /**
+   * The sorted methods of each resource and its sub-resources, keyed by
+   * resource instance.
+   */
+  private final Map<Resource, List<Method>> methodsByResource;
+  /**
+   * The methods keyed by method id.
+   */
+  private final Map<String, Method> methodsById;
+  /**
+   * The sorted methods keyed by HTTP verb. e.g. "GET".
+   */
+  private final Map<String, List<Method>> methodsByVerb;
+  /**
+   * The resources keyed by path.
+   */
+  private final Map<String, Resource> resourceByPath;
+  /**
+   * The resources entries keyed by base.
+   */
+  private final Map<String, Resources> resourcesByBase;
+
+  /**
+   * Build the indexes of an application.
+   *
+   * @param application the unmarshaled and post-processed WADL application
+   */
+  public WadlIndex(Application application) {
+    Map<Resource, List<Method>> byResource = new IdentityHashMap<>();
+    Map<String, Method> byId = new HashMap<>();
+    Map<String, List<Method>> byVerb = new HashMap<>();
+    Map<String, Resources> byBase = new HashMap<>();
+    if (application != null && application.getResources() != null) {
+      for (Resources resources : application.getResources()) {
+        if (resources.getBase() != null) {
+          byBase.putIfAbsent(resources.getBase(), application.findResources(resources.getBase()));
+        }
+        for (Resource resource : resources.getResource()) {
+          collect(resource, byResource);
+        }
+      }
+    }
+    /**
+     * Each path is resolved once by the application, so that a path shared by
+     * several resources maps to the same resource as before.
+     */
+    Map<String, Resource> byPath = new HashMap<>();
+    for (Resource resource : byResource.keySet()) {
+      if (resource.getPath() != null && !byPath.containsKey(resource.getPath())) {
+        byPath.put(resource.getPath(), application.findResource(resource.getPath()));
+      }
+    }
+    byBase.values().removeIf(Objects::isNull);
+    byPath.values().removeIf(Objects::isNull);
+    /**
+     * Every method is included in the list of its own resource.
+     */
+    Set<Method> methods = Collections.newSetFromMap(new IdentityHashMap<>());
+    byResource.values().forEach(methods::addAll);
+    for (Method method : methods) {
+      if (method.getId() != null) {
+        byId.putIfAbsent(method.getId(), method);
+      }
+      if (method.getName() != null) {
+        byVerb.computeIfAbsent(method.getName(), k -> new ArrayList<>()).add(method);
+      }
+    }
+    byVerb.replaceAll((k, v) -> sorted(v));
+    this.methodsByResource = byResource;
+    this.methodsById = byId;
+    this.methodsByVerb = byVerb;
+    this.resourceByPath = byPath;
+    this.resourcesByBase = byBase;
+  }
+
+  /**
+   * Recursively index a resource tree. The methods of each resource include
+   * the methods of all of its sub-resources.
+   *
+   * @param resource   a resource
+   * @param byResource the methods by resource
+   * @return all methods in the resource tree
+   */
+  private static List<Method> collect(Resource resource, Map<Resource, List<Method>> byResource) {
+    List<Method> methods = new ArrayList<>(resource.getMethods());
+    for (Resource child : resource.getResources()) {
+      methods.addAll(collect(child, byResource));
+    }
+    byResource.put(resource, sorted(methods));
+    return methods;
+  }
+
+  /**
+   * Sort a list of methods.
+   *
+   * @param methods the methods
+   * @return a sorted, unmodifiable copy
+   */
+  private static List<Method> sorted(List<Method> methods) {
+    List<Method> list = new ArrayList<>(methods);
+    Collections.sort(list);
+    return Collections.unmodifiableList(list);
+  }
+
+  /**
+   * Find a resources entry matching the provided URI base.
+   *
+   * @param base the URI base
+   * @return the matched Resources instance; null if not found
+   */
+  public Resources findResources(String base) {
+    return base == null ? null : resourcesByBase.get(base);
+  }
+
+  /**
+   * Find a specific resource matching the indicated path.
+   *
+   * @param path the resource path.
+   * @return the matching Resource; null if not found
+   */
+  public Resource findResource(String path) {
+    return path == null ? null : resourceByPath.get(path);
+  }
+
+  /**
+   * Find all methods belonging to a resource and its sub-resources. A resource
+   * that is not part of the indexed application is searched directly.
+   *
+   * @param resource the resource
+   * @return a sorted, non-null list
+   */
+  public List<Method> findMethods(Resource resource) {
+    if (resource == null) {
+      return Collections.emptyList();
+    }
+    List<Method> methods = methodsByResource.get(resource);
+    return methods != null ? methods : sorted(collect(resource, new IdentityHashMap<>()));
+  }
+
+  /**
+   * Find a method by its id.
+   *
+   * @param id the method id
+   * @return the method; null if not found
+   */
+  public Method findMethod(String id) {
+    return id == null ? null : methodsById.get(id);
+  }
+
+  /**
+   * Find all methods with the indicated HTTP verb.
+   *
+   * @param verb the HTTP verb. e.g. "GET"
+   * @return a sorted, non-null list
+   */
+  public List<Method> findMethodsByVerb(String verb) {
+    List<Method> methods = verb == null ? null : methodsByVerb.get(verb.toUpperCase(Locale.ROOT));
+    return methods != null ? methods : Collections.emptyList();
+  }
+
+  /**
+   * Get the ids of all indexed methods.
+   *
+   * @return an unmodifiable set of method ids
+   * @since v5.2.0 added 2021-02-21
+   */
+  public Set<String> getMethodIds() {
+    return Collections.unmodifiableSet(methodsById.keySet());
+  }
+
+  /**
+   * Get the number of indexed methods.
+   *
+   * @return the number of methods with an id
+   */
+  public int size() {
+    return methodsById.size();
+  }
+
+}
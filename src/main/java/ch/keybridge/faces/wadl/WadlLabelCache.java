@@ -0,0 +1,147 @@
+/*
+ * Copyright (C) 2017 Key Bridge LLC
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package ch.keybridge.faces.wadl;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Cache of resolved WADL labels and descriptions.
+ * <p>
+ * Labels are read from a resource bundle and rendered from Markdown to HTML.
+ * Each label is resolved at most once per locale and bundle; labels that are
+ * not found are also remembered so a missing key is not searched for (or
+ * logged) again. When the WADL is refreshed only the labels of changed methods
+ * are discarded.
+ * <p>
+ * The labels of a locale are held together with the bundle instance they were
+ * read from. If a different bundle instance is provided for the locale, e.g.
+ * after the bundle was reloaded, all labels of that locale are discarded and
+ * resolved again. Callers should not use the cache in the {@code Development}
+ * project stage, where bundle files may be edited in place.
+ *
+ * @author Key Bridge
+ * @since v5.2.0 created 2021-02-17 to resolve each WADL label once per locale
+ * @since v5.2.0 discard labels by method 2021-02-21
+ * @since v5.2.0 discard labels when the bundle changes 2021-02-27
+ */
+public final class WadlLabelCache {
+
+  /**
+   * Marker for a label that was not found. Compared by identity.
+   */
+  private static final String MISSING = new String("???");
+
+  /**
+   * The resolved labels, keyed by locale.
+   */
+  private final Map<Locale, Labels> labels = new ConcurrentHashMap<>();
+
+  /**
+   * Get a resolved label.
+   *
+   * @param locale   the locale
+   * @param key      the bundle key
+   * @param resolver the function to resolve a label not in the cache. This
+   *                 should return null if the label is not found.
+   * @return the resolved label; null if not found
+   */
+  public String get(Locale locale, String key, Function<String, String> resolver) {
+    return get(locale, null, key, resolver);
+  }
+
+  /**
+   * Get a resolved label read from a bundle. If the labels of the locale were
+   * read from a different bundle instance they are discarded first.
+   *
+   * @param locale   the locale
+   * @param bundle   the bundle instance the label is read from; compared by
+   *                 identity. Null if not known.
+   * @param key      the bundle key
+   * @param resolver the function to resolve a label not in the cache. This
+   *                 should return null if the label is not found.
+   * @return the resolved label; null if not found
+   * @since v5.2.0 added 2021-02-27
+   */
+  public String get(Locale locale, Object bundle, String key, Function<String, String> resolver) {
+    Locale l = locale == null ? Locale.ROOT : locale;
+    Labels entry = labels.get(l);
+    if (entry == null || entry.bundle != bundle) {
+      entry = labels.compute(l, (k, v) -> v != null && v.bundle == bundle ? v : new Labels(bundle));
+    }
+    String label = entry.map.computeIfAbsent(key, k -> {
+      String resolved = resolver.apply(k);
+      return resolved == null ? MISSING : resolved;
+    });
+    return label == MISSING ? null : label;
+  }
+
+  /**
+   * Get the number of cached labels, including labels not found, for all
+   * locales.
+   *
+   * @return the number of cached labels
+   */
+  public int size() {
+    return labels.values().stream().mapToInt(entry -> entry.map.size()).sum();
+  }
+
+  /**
+   * Discard the cached labels of a method, for all locales. This discards the
+   * method description and the method parameter labels, which are keyed
+   * {@code [methodId]} and {@code [methodId]_[parameter]}.
+   * <p>
+   * Parameter labels are matched by the prefix {@code [methodId]_}, so this
+   * also discards the labels of any method whose id starts with that prefix;
+   * e.g. invalidating {@code get_user} also discards {@code get_user_list}.
+   * Those labels are resolved again on next use.
+   *
+   * @param methodId the method id
+   */
+  public void invalidate(String methodId) {
+    String prefix = methodId + "_";
+    for (Labels entry : labels.values()) {
+      entry.map.keySet().removeIf(key -> key.equals(methodId) || key.startsWith(prefix));
+    }
+  }
+
+  /**
+   * Discard all cached labels.
+   */
+  public void clear() {
+    labels.clear();
+  }
+
+  /**
+   * The resolved labels of one locale, keyed by bundle key.
+   */
+  private static final class Labels {
+
+    /**
+     * The bundle instance the labels were read from; null if not known.
+     */
+    final Object bundle;
+    final Map<String, String> map = new ConcurrentHashMap<>();
+
+    Labels(Object bundle) {
+      this.bundle = bundle;
+    }
+  }
+
+}
@@ -0,0 +1,335 @@
+/*
+ * Copyright (C) 2017 Key Bridge LLC
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package ch.keybridge.faces.wadl;
+
+import java.util.*;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import javax.ws.rs.core.MediaType;
+import net.java.dev.wadl.*;
+
+/**
+ * An immutable, precomputed view of one WADL method.
+ * <p>
+ * The view holds everything the {@code wadl/method.xhtml} component renders
+ * that depends only on the WADL file: the sorted parameter list, the formatted
+ * URIs, the CSS type, the request and upload elements and the elements of each
+ * response. Views are built once per {@link WadlSnapshot} by the
+ * {@link WadlRenderModel} so a page render does only field lookups.
+ * <p>
+ * Labels are not included as they are resolved by the label provider and may
+ * depend upon the request locale.
+ *
+ * @author Key Bridge
+ * @since v5.2.0 created 2021-02-15 to precompute the WADL method rendering
+ */
+public final class WadlMethodView {
+
+  private static final Logger LOG = Logger.getLogger(WadlMethodView.class.getName());
+
+  /**
+   * Matches a template variable in a URI pattern. e.g. {@code {id}}
+   */
+  private static final Pattern URI_VARIABLE = Pattern.compile("\\{(\\w+)\\}");
+
+  /**
+   * The WADL method.
+   */
+  private final Method method;
+  /**
+   * The Bootstrap CSS type of the HTTP method.
+   */
+  private final String cssType;
+  /**
+   * The HTML-coded method path.
+   */
+  private final String formattedPath;
+  /**
+   * The HTML-coded parent resource path.
+   */
+  private final String formattedParentPath;
+  /**
+   * The sorted method parameters.
+   */
+  private final List<Param> parameters;
+  /**
+   * TRUE if the method is either a PUT or POST type.
+   */
+  private final boolean putOrPost;
+  /**
+   * The form encoded request representations and their parameters.
+   */
+  private final List<Map.Entry<Representation, List<Param>>> uploadElements;
+  /**
+   * The request element names and their supported representations.
+   */
+  private final List<Map.Entry<String, List<Representation>>> requestElements;
+  /**
+   * The response element names and their supported representations, one list
+   * per method response.
+   */
+  private final List<List<Map.Entry<String, List<Representation>>>> responses;
+
+  /**
+   * Construct a new view of a method.
+   *
+   * @param method the WADL method
+   */
+  public WadlMethodView(Method method) {
+    this.method = method;
+    this.cssType = cssType(method.getName());
+    this.formattedPath = formatURI(method.getPath());
+    this.formattedParentPath = method.getParent() != null ? formatURI(method.getParent().getPath()) : null;
+    this.parameters = Collections.unmodifiableList(findParameters(method));
+    this.putOrPost = isPutOrPost(method);
+    this.uploadElements = entries(findUploadElements(method));
+    this.requestElements = entries(findRequestElements(method));
+    List<List<Map.Entry<String, List<Representation>>>> list = new ArrayList<>();
+    if (method.getResponse() != null) {
+      for (Response response : method.getResponse()) {
+        list.add(entries(findResponseElements(response)));
+      }
+    }
+    this.responses = Collections.unmodifiableList(list);
+  }
+
+  /**
+   * Copy a map into an unmodifiable list of entries that may be iterated by
+   * {@code ui:repeat}.
+   *
+   * @param <K> the key type
+   * @param <V> the value type
+   * @param map the map
+   * @return an unmodifiable list of entries
+   */
+  private static <K, V> List<Map.Entry<K, List<V>>> entries(Map<K, List<V>> map) {
+    List<Map.Entry<K, List<V>>> list = new ArrayList<>(map.size());
+    map.forEach((k, v) -> list.add(new AbstractMap.SimpleImmutableEntry<>(k, Collections.unmodifiableList(v))));
+    return Collections.unmodifiableList(list);
+  }
+
+  //<editor-fold defaultstate="collapsed" desc="Getters">
+  public Method getMethod() {
+    return method;
+  }
+
+  public String getId() {
+    return method.getId();
+  }
+
+  public String getName() {
+    return method.getName();
+  }
+
+  public String getCssType() {
+    return cssType;
+  }
+
+  public String getFormattedPath() {
+    return formattedPath;
+  }
+
+  public String getFormattedParentPath() {
+    return formattedParentPath;
+  }
+
+  public List<Param> getParameters() {
+    return parameters;
+  }
+
+  public boolean isPutOrPost() {
+    return putOrPost;
+  }
+
+  public List<Map.Entry<Representation, List<Param>>> getUploadElements() {
+    return uploadElements;
+  }
+
+  public List<Map.Entry<String, List<Representation>>> getRequestElements() {
+    return requestElements;
+  }
+
+  public List<List<Map.Entry<String, List<Representation>>>> getResponses() {
+    return responses;
+  }//</editor-fold>
+
+  //<editor-fold defaultstate="collapsed" desc="Static builders">
+  /**
+   * Determine if the method is either a PUT or POST type.
+   *
+   * @param method the method
+   * @return TRUE if the method name is either PUT or POST, otherwise FALSE
+   */
+  static boolean isPutOrPost(Method method) {
+    return HTTPMethods.PUT.equals(method.getName()) || HTTPMethods.POST.equals(method.getName());
+  }
+
+  /**
+   * Build a sorted list of all parameters relevant to a method. This captures
+   * the parent and immediate parameters.
+   *
+   * @param method the method
+   * @return a non-null ArrayList
+   */
+  static List<Param> findParameters(Method method) {
+    /**
+     * Create a sorted TreeSet. Use a TreeSet to avoid duplicate parameters
+     * where multiple encodings are allowed (which is an erroneous configuration
+     * but Jersey appears to allow it.
+     */
+    Collection<Param> parameters = new TreeSet<>(Comparator.comparing(Param::getName));
+    if (method.getParent() != null) {
+      parameters.addAll(method.getParent().getParam());
+    }
+    /**
+     * Add all request parameters. This captures Query and Template method
+     * parameters plus Post headers.
+     */
+    try {
+      if (method.isSetRequest()) {
+        parameters.addAll(method.getRequest().getParam());
+      }
+    } catch (Exception e) {
+      LOG.log(Level.WARNING, "findMethodParameters ERROR for method {0}.  {1}", new Object[]{method.getId(), e.getMessage()});
+    }
+    /**
+     * Use a parameter name filter to omit the javax.ws.rs.container.Suspended
+     * attribute, which is picked up for asynchronous REST methods.
+     */
+    return parameters.stream().filter(p -> !p.getName().startsWith("javax.ws")).collect(Collectors.toList());
+  }
+
+  /**
+   * PUT / POST only. Map the representation element names to their supported
+   * media types.
+   *
+   * @param method the method
+   * @return a non-null, ordered map of element names and representations
+   */
+  static Map<String, List<Representation>> findRequestElements(Method method) {
+    Map<String, List<Representation>> elements = new LinkedHashMap<>();
+    if (isPutOrPost(method) && method.getRequest() != null) {
+      for (Representation representation : method.getRequest().getRepresentation()) {
+        if (representation.getElement() != null) {
+          elements.computeIfAbsent(representation.getElement().getLocalPart(), k -> new ArrayList<>()).add(representation);
+        }
+      }
+    }
+    return elements;
+  }
+
+  /**
+   * PUT / POST only. Group the parameters of Form annotated methods by their
+   * encoding representation.
+   *
+   * @param method the method
+   * @return a non-null, ordered map of representations and parameters
+   */
+  static Map<Representation, List<Param>> findUploadElements(Method method) {
+    Map<Representation, List<Param>> elements = new LinkedHashMap<>();
+    if (isPutOrPost(method) && method.getRequest() != null) {
+      for (Representation representation : method.getRequest().getRepresentation()) {
+        if (!representation.getParam().isEmpty()) {
+          elements.computeIfAbsent(representation, k -> new ArrayList<>()).addAll(representation.getParam());
+        }
+      }
+    }
+    return elements;
+  }
+
+  /**
+   * Map the response element names to their supported media types.
+   * Representations without an element are named "Response".
+   *
+   * @param response one method response
+   * @return a non-null, ordered map of element names and representations
+   */
+  static Map<String, List<Representation>> findResponseElements(Response response) {
+    Map<String, List<Representation>> elements = new LinkedHashMap<>();
+    try {
+      for (Representation representation : response.getRepresentation()) {
+        elements.computeIfAbsent(representation.getElement() != null
+                                 ? representation.getElement().getLocalPart()
+                                 : "Response", k -> new ArrayList<>()).add(representation);
+      }
+    } catch (Exception e) {
+      LOG.log(Level.WARNING, "findMethodResponseElements ERROR.  {0}", e.getMessage());
+    }
+    return elements;
+  }
+
+  /**
+   * Get the Bootstrap text color CSS type for an HTTP method or media type.
+   *
+   * @param methodName the method name or media type.
+   * @return the label class
+   */
+  static String cssType(String methodName) {
+    if (methodName == null) {
+      return "secondary";
+    }
+    switch (methodName) {
+      case "HEAD":
+      case "OPTIONS":
+      case "application/geojson":
+      case "application/geo+json":
+      case MediaType.APPLICATION_JSON:
+        return "info";
+
+      case "GET":
+      case MediaType.APPLICATION_XML:
+        return "primary";
+
+      case "POST":
+        return "success";
+
+      case "PUT":
+        return "warning";
+
+      case "DELETE":
+      case MediaType.MULTIPART_FORM_DATA:
+        return "danger";
+
+      case MediaType.TEXT_HTML:
+      case MediaType.TEXT_PLAIN:
+      case MediaType.TEXT_XML:
+      default:
+        return "secondary";
+    }
+  }
+
+  /**
+   * Wrap variables in a URI pattern in an html span with the 'wadl-param'
+   * class.
+   *
+   * @param uriPattern the URI pattern
+   * @return the HTML-coded URI pattern; null if the pattern is null
+   */
+  static String formatURI(String uriPattern) {
+    return uriPattern == null
+           ? null
+           : URI_VARIABLE.matcher(uriPattern).replaceAll("<span class=\"wadl-param\">{$1}</span>");
+  }//</editor-fold>
+
+  @Override
+  public String toString() {
+    return "WadlMethodView " + method.getName() + " " + method.getId();
+  }
+
+}
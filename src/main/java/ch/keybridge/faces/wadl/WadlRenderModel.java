@@ -0,0 +1,95 @@
+/*
+ * Copyright (C) 2017 Key Bridge LLC
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package ch.keybridge.faces.wadl;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import net.java.dev.wadl.Application;
+import net.java.dev.wadl.Method;
+import net.java.dev.wadl.Resource;
+import net.java.dev.wadl.Resources;
+
+/**
+ * The precomputed method views of one WADL application.
+ * <p>
+ * The model is built once when a {@link WadlSnapshot} is created and is never
+ * changed afterwards. Views are keyed by method instance identity, which is
+ * stable for the life of the snapshot.
+ *
+ * @author Key Bridge
+ * @since v5.2.0 created 2021-02-15 to precompute the WADL method rendering
+ */
+public final class WadlRenderModel {
+
+  /**
+   * The method views, keyed by method instance.
+   */
+  private final Map<Method, WadlMethodView> views;
+
+  /**
+   * Build the method views for all resources in an application.
+   *
+   * @param application the unmarshaled and post-processed WADL application
+   */
+  public WadlRenderModel(Application application) {
+    Map<Method, WadlMethodView> map = new IdentityHashMap<>();
+    if (application != null && application.getResources() != null) {
+      for (Resources resources : application.getResources()) {
+        for (Resource resource : resources.getResource()) {
+          collect(resource, map);
+        }
+      }
+    }
+    this.views = Collections.unmodifiableMap(map);
+  }
+
+  /**
+   * Recursively build the views of a resource tree.
+   *
+   * @param resource a resource
+   * @param map      the views
+   */
+  private static void collect(Resource resource, Map<Method, WadlMethodView> map) {
+    for (Method method : resource.getMethods()) {
+      map.put(method, new WadlMethodView(method));
+    }
+    for (Resource child : resource.getResources()) {
+      collect(child, map);
+    }
+  }
+
+  /**
+   * Get the precomputed view of a method.
+   *
+   * @param method the method
+   * @return the method view; null if the method is not part of this model
+   */
+  public WadlMethodView get(Method method) {
+    return views.get(method);
+  }
+
+  /**
+   * Get the number of method views.
+   *
+   * @return the number of methods
+   */
+  public int size() {
+    return views.size();
+  }
+
+}
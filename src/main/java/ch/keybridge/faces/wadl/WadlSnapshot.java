@@ -0,0 +1,230 @@
+/*
+ * Copyright 2021 Key Bridge. All rights reserved.
+ * Use is subject to license terms.
+ *
+ * Software Code is protected by Copyrights. Author hereby reserves all rights
+ * in and to Copyrights and no license is granted under Copyrights in this
+ * Software License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request from: info@keybridgewireless.com
+ */
+package ch.keybridge.faces.wadl;
+
+import java.util.Date;
+import net.java.dev.wadl.Application;
+
+/**
+ * An immutable, loaded WADL application.
+ * <p>
+ * A snapshot is created each time the WADL file is downloaded and is never
+ * changed afterwards. It is shared by all request beans that render the WADL,
+ * which must treat the application as read-only.
+ *
+ * @author Key Bridge
+ * @since v5.2.0 created 2021-02-12 to share one WADL model per application
+ * @since v5.2.0 retain the raw WADL XML for persistence 2021-02-18
+ * @since v5.2.0 record the HTTP cache validators 2021-02-21
+ */
+public final class WadlSnapshot {
+
+  /**
+   * The fully qualified URL the WADL file was downloaded from.
+   */
+  private final String url;
+  /**
+   * The unmarshaled and post-processed WADL application.
+   */
+  private final Application application;
+  /**
+   * The raw WADL XML. Null if not retained.
+   */
+  private final String xml;
+  /**
+   * The precomputed method views.
+   */
+  private final WadlRenderModel renderModel;
+  /**
+   * The resource and method lookup indexes.
+   */
+  private final WadlIndex index;
+  /**
+   * The time the WADL file was loaded, in milliseconds since the epoch.
+   */
+  private final long loaded;
+  /**
+   * The HTTP entity tag of the WADL file. Null if not provided.
+   */
+  private final String etag;
+  /**
+   * The HTTP last modified time of the WADL file, in milliseconds since the
+   * epoch. Zero if not provided.
+   */
+  private final long lastModified;
+
+  /**
+   * Construct a new snapshot.
+   *
+   * @param url         the WADL URL
+   * @param application the unmarshaled and post-processed WADL application
+   */
+  public WadlSnapshot(String url, Application application) {
+    this(url, application, null, System.currentTimeMillis());
+  }
+
+  /**
+   * Construct a new snapshot that retains the raw WADL XML.
+   *
+   * @param url         the WADL URL
+   * @param application the unmarshaled and post-processed WADL application
+   * @param xml         the raw WADL XML the application was read from
+   * @param loaded      the time the WADL file was downloaded, in milliseconds
+   *                    since the epoch
+   * @since v5.2.0 added 2021-02-18
+   */
+  public WadlSnapshot(String url, Application application, String xml, long loaded) {
+    this(url, application, xml, loaded, null, 0);
+  }
+
+  /**
+   * Construct a new snapshot that retains the raw WADL XML and the HTTP cache
+   * validators.
+   *
+   * @param url          the WADL URL
+   * @param application  the unmarshaled and post-processed WADL application
+   * @param xml          the raw WADL XML the application was read from
+   * @param loaded       the time the WADL file was downloaded, in milliseconds
+   *                     since the epoch
+   * @param etag         the HTTP entity tag; null if not provided
+   * @param lastModified the HTTP last modified time, in milliseconds since the
+   *                     epoch; zero if not provided
+   * @since v5.2.0 added 2021-02-21
+   */
+  public WadlSnapshot(String url, Application application, String xml, long loaded, String etag, long lastModified) {
+    this(url, application, new WadlRenderModel(application), new WadlIndex(application), xml, loaded, etag, lastModified);
+  }
+
+  /**
+   * Construct a new snapshot with precomputed views and indexes.
+   */
+  private WadlSnapshot(String url, Application application, WadlRenderModel renderModel, WadlIndex index, String xml, long loaded, String etag, long lastModified) {
+    this.url = url;
+    this.application = application;
+    this.renderModel = renderModel;
+    this.index = index;
+    this.xml = xml;
+    this.loaded = loaded;
+    this.etag = etag;
+    this.lastModified = lastModified;
+  }
+
+  /**
+   * Create a copy of this snapshot for a WADL file that was downloaded again
+   * and found to be unchanged. The copy shares this application, views and
+   * indexes, and records the new download.
+   *
+   * @param xml          the raw WADL XML; null to keep the current XML
+   * @param etag         the HTTP entity tag; null if not provided
+   * @param lastModified the HTTP last modified time; zero if not provided
+   * @return a new snapshot
+   * @since v5.2.0 added 2021-02-21
+   */
+  public WadlSnapshot revalidate(String xml, String etag, long lastModified) {
+    return new WadlSnapshot(url, application, renderModel, index, xml != null ? xml : this.xml, System.currentTimeMillis(), etag, lastModified);
+  }
+
+  /**
+   * Get the fully qualified URL the WADL file was downloaded from.
+   *
+   * @return the WADL URL
+   */
+  public String getUrl() {
+    return url;
+  }
+
+  /**
+   * Get the WADL application.
+   *
+   * @return the WADL application
+   */
+  public Application getApplication() {
+    return application;
+  }
+
+  /**
+   * Get the raw WADL XML.
+   *
+   * @return the WADL XML; null if not retained
+   * @since v5.2.0 added 2021-02-18
+   */
+  public String getXml() {
+    return xml;
+  }
+
+  /**
+   * Get the precomputed method views.
+   *
+   * @return the render model
+   * @since v5.2.0 added 2021-02-15
+   */
+  public WadlRenderModel getRenderModel() {
+    return renderModel;
+  }
+
+  /**
+   * Get the resource and method lookup indexes.
+   *
+   * @return the WADL index
+   * @since v5.2.0 added 2021-02-16
+   */
+  public WadlIndex getIndex() {
+    return index;
+  }
+
+  /**
+   * Get the time the WADL file was loaded.
+   *
+   * @return the load time in milliseconds since the epoch
+   */
+  public long getLoaded() {
+    return loaded;
+  }
+
+  /**
+   * Get the HTTP entity tag of the WADL file.
+   *
+   * @return the entity tag; null if not provided
+   * @since v5.2.0 added 2021-02-21
+   */
+  public String getEtag() {
+    return etag;
+  }
+
+  /**
+   * Get the HTTP last modified time of the WADL file.
+   *
+   * @return the last modified time in milliseconds since the epoch; zero if not
+   *         provided
+   * @since v5.2.0 added 2021-02-21
+   */
+  public long getLastModified() {
+    return lastModified;
+  }
+
+  /**
+   * Get the time the WADL file was loaded.
+   *
+   * @return the load time
+   */
+  public Date getLoadedDate() {
+    return new Date(loaded);
+  }
+
+  @Override
+  public String toString() {
+    return "WadlSnapshot " + url + " loaded " + getLoadedDate();
+  }
+
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright (C) 2017 Key Bridge LLC
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package ch.keybridge.faces.wadl;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.Properties;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Local file store for the last successfully downloaded WADL file.
+ * <p>
+ * The raw WADL XML is written to the store file, and the WADL URL, download
+ * time and HTTP cache validators are written to a sibling {@code .properties}
+ * file. Both are replaced
+ * atomically. A stored snapshot is unmarshaled and indexed again when it is
+ * read; this is fast compared to waiting for the REST service.
+ *
+ * @author Key Bridge
+ * @since v5.2.0 created 2021-02-18 to render the WADL before the REST service is
+ * available
+ * @since v5.2.0 store the HTTP cache validators 2021-02-21
+ */
+public final class WadlSnapshotStore {
+
+  private static final Logger LOG = Logger.getLogger(WadlSnapshotStore.class.getName());
+
+  /**
+   * The properties file key for the WADL URL.
+   */
+  private static final String URL = "url";
+  /**
+   * The properties file key for the download time.
+   */
+  private static final String LOADED = "loaded";
+  /**
+   * The properties file key for the HTTP entity tag.
+   */
+  private static final String ETAG = "etag";
+  /**
+   * The properties file key for the HTTP last modified time.
+   */
+  private static final String LAST_MODIFIED = "lastModified";
+
+  /**
+   * The WADL XML file.
+   */
+  private final Path file;
+  /**
+   * The WADL metadata file.
+   */
+  private final Path metadata;
+
+  /**
+   * Construct a new store.
+   *
+   * @param file the WADL XML file. The metadata is stored in the same
+   *             directory.
+   */
+  public WadlSnapshotStore(Path file) {
+    this.file = file.toAbsolutePath();
+    this.metadata = this.file.resolveSibling(this.file.getFileName() + ".properties");
+  }
+
+  /**
+   * Get the WADL XML file.
+   *
+   * @return the store file
+   */
+  public Path getFile() {
+    return file;
+  }
+
+  /**
+   * Read the stored WADL snapshot.
+   *
+   * @return the stored snapshot; null if not available or not readable
+   */
+  public WadlSnapshot read() {
+    if (!Files.isRegularFile(file) || !Files.isRegularFile(metadata)) {
+      return null;
+    }
+    try {
+      Properties properties = new Properties();
+      try (Reader reader = Files.newBufferedReader(metadata, StandardCharsets.UTF_8)) {
+        properties.load(reader);
+      }
+      String xml = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+      return new WadlSnapshot(properties.getProperty(URL),
+                              AbstractWadlBean.parseApplication(xml),
+                              xml,
+                              Long.parseLong(properties.getProperty(LOADED, "0")),
+                              properties.getProperty(ETAG),
+                              Long.parseLong(properties.getProperty(LAST_MODIFIED, "0")));
+    } catch (Exception exception) {
+      LOG.log(Level.WARNING, "Unable to read stored WADL {0}.  {1}", new Object[]{file, exception.getMessage()});
+      return null;
+    }
+  }
+
+  /**
+   * Write a WADL snapshot to the store. Snapshots without the raw XML are
+   * ignored.
+   *
+   * @param snapshot the WADL snapshot
+   * @return TRUE if the snapshot was written
+   */
+  public boolean write(WadlSnapshot snapshot) {
+    if (snapshot == null || snapshot.getXml() == null) {
+      return false;
+    }
+    try {
+      Files.createDirectories(file.getParent());
+      replace(file, snapshot.getXml().getBytes(StandardCharsets.UTF_8));
+      Properties properties = new Properties();
+      properties.setProperty(URL, snapshot.getUrl());
+      properties.setProperty(LOADED, String.valueOf(snapshot.getLoaded()));
+      if (snapshot.getEtag() != null) {
+        properties.setProperty(ETAG, snapshot.getEtag());
+      }
+      properties.setProperty(LAST_MODIFIED, String.valueOf(snapshot.getLastModified()));
+      Path temp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+      try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+        properties.store(writer, "WADL snapshot");
+      }
+      move(temp, metadata);
+      return true;
+    } catch (IOException exception) {
+      LOG.log(Level.WARNING, "Unable to store WADL {0}.  {1}", new Object[]{file, exception.getMessage()});
+      return false;
+    }
+  }
+
+  /**
+   * Atomically replace the content of a file.
+   *
+   * @param target the file
+   * @param bytes  the new content
+   * @throws IOException if the file cannot be written
+   */
+  private static void replace(Path target, byte[] bytes) throws IOException {
+    Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+    Files.write(temp, bytes);
+    move(temp, target);
+  }
+
+  /**
+   * Move a temporary file into place, atomically if supported.
+   *
+   * @param temp   the temporary file
+   * @param target the file
+   * @throws IOException if the file cannot be moved
+   */
+  private static void move(Path temp, Path target) throws IOException {
+    try {
+      Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } catch (AtomicMoveNotSupportedException exception) {
+      Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "WadlSnapshotStore " + file;
+  }
+
+}
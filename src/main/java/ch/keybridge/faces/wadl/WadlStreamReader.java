@@ -0,0 +1,161 @@
+/*
+ * Copyright (C) 2017 Key Bridge LLC
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package ch.keybridge.faces.wadl;
+
+import java.io.Reader;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.util.StreamReaderDelegate;
+
+/**
+ * Streaming WADL reader that skips the parts of a WADL document that are never
+ * displayed.
+ * <p>
+ * The {@code grammars} element of a large service may hold several megabytes
+ * of XML schema. This reader passes over skipped elements and their content
+ * at the StAX level, so they are never bound to JAXB objects or held in
+ * memory.
+ *
+ * @author Key Bridge
+ * @since v5.2.0 created 2021-02-20 to reduce the WADL parse cost
+ */
+final class WadlStreamReader extends StreamReaderDelegate {
+
+  /**
+   * The WADL namespace.
+   */
+  static final String WADL_NAMESPACE = "http://wadl.dev.java.net/2009/02";
+  /**
+   * The local names of the WADL elements that are skipped.
+   */
+  static final Set<String> SKIPPED = Collections.unmodifiableSet(new HashSet<>(Arrays.asList("grammars")));
+
+  /**
+   * The shared factory. External entities and DTDs are disabled.
+   */
+  private static final XMLInputFactory FACTORY;
+
+  static {
+    FACTORY = XMLInputFactory.newInstance();
+    FACTORY.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+    FACTORY.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+  }
+
+  /**
+   * The number of elements skipped.
+   */
+  private int skipped;
+
+  /**
+   * Construct a new reader.
+   *
+   * @param reader the underlying reader
+   */
+  WadlStreamReader(XMLStreamReader reader) {
+    super(reader);
+  }
+
+  /**
+   * Create a new reader of a WADL document.
+   *
+   * @param reader the document
+   * @return a new streaming reader
+   * @throws XMLStreamException if the reader cannot be created
+   */
+  static WadlStreamReader create(Reader reader) throws XMLStreamException {
+    return new WadlStreamReader(FACTORY.createXMLStreamReader(reader));
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * Skipped elements, including their content, are passed over.
+   */
+  @Override
+  public int next() throws XMLStreamException {
+    int event = super.next();
+    while (event == XMLStreamConstants.START_ELEMENT && isSkipped()) {
+      skipElement();
+      skipped++;
+      event = super.next();
+    }
+    return event;
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * Implemented with {@link #next()} so that skipped elements are passed over.
+   */
+  @Override
+  public int nextTag() throws XMLStreamException {
+    int event = next();
+    while ((event == XMLStreamConstants.CHARACTERS && isWhiteSpace())
+      || (event == XMLStreamConstants.CDATA && isWhiteSpace())
+      || event == XMLStreamConstants.SPACE
+      || event == XMLStreamConstants.PROCESSING_INSTRUCTION
+      || event == XMLStreamConstants.COMMENT) {
+      event = next();
+    }
+    if (event != XMLStreamConstants.START_ELEMENT && event != XMLStreamConstants.END_ELEMENT) {
+      throw new XMLStreamException("expected start or end tag", getLocation());
+    }
+    return event;
+  }
+
+  /**
+   * Determine if the current start element is skipped.
+   *
+   * @return TRUE if the element is a skipped WADL element
+   */
+  private boolean isSkipped() {
+    return SKIPPED.contains(getLocalName()) && WADL_NAMESPACE.equals(getNamespaceURI());
+  }
+
+  /**
+   * Advance the underlying reader to the end of the current element.
+   *
+   * @throws XMLStreamException if the document is not well formed
+   */
+  private void skipElement() throws XMLStreamException {
+    int depth = 1;
+    while (depth > 0) {
+      int event = super.next();
+      if (event == XMLStreamConstants.START_ELEMENT) {
+        depth++;
+      } else if (event == XMLStreamConstants.END_ELEMENT) {
+        depth--;
+      }
+    }
+  }
+
+  /**
+   * Get the number of elements skipped.
+   *
+   * @return the number of skipped elements
+   */
+  int getSkipped() {
+    return skipped;
+  }
+
+}
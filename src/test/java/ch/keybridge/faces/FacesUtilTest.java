@@ -0,0 +1,56 @@
+/*
+ * Copyright 2021 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package ch.keybridge.faces;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ *
+ * @author Key Bridge
+ */
+public class FacesUtilTest {
+
+  @Test
+  public void testIfNoneMatch() {
+    assertTrue(FacesUtil.isNotModified("W/\"abc\"", -1, "abc", 0));
+    assertTrue(FacesUtil.isNotModified("\"abc\"", -1, "abc", 0));
+    assertTrue(FacesUtil.isNotModified("\"other\", W/\"abc\"", -1, "abc", 0));
+    assertTrue(FacesUtil.isNotModified("*", -1, "abc", 0));
+    assertFalse(FacesUtil.isNotModified("W/\"other\"", -1, "abc", 0));
+    assertFalse(FacesUtil.isNotModified("W/\"abc\"", -1, null, 0));
+    /**
+     * If-None-Match takes precedence over If-Modified-Since.
+     */
+    assertFalse(FacesUtil.isNotModified("W/\"other\"", 2_000_000L, "abc", 1_000_000L));
+  }
+
+  @Test
+  public void testIfModifiedSince() {
+    assertTrue(FacesUtil.isNotModified(null, 1_000_000L, "abc", 1_000_000L));
+    assertTrue(FacesUtil.isNotModified(null, 2_000_000L, "abc", 1_000_000L));
+    assertFalse(FacesUtil.isNotModified(null, 999_000L, "abc", 1_000_000L));
+    assertFalse(FacesUtil.isNotModified(null, -1, "abc", 1_000_000L));
+    assertFalse(FacesUtil.isNotModified(null, 1_000_000L, "abc", 0));
+    System.out.println("FacesUtil conditional GET evaluated");
+  }
+
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2020 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package ch.keybridge.faces.converter;
+
+import java.util.HashMap;
+import java.util.Map;
+import javax.faces.context.FacesContextWrapper;
+
+/**
+ * A minimal current FacesContext for converter tests. Only the context
+ * attributes are supported; the request cookies are given as name and value
+ * pairs.
+ *
+ * @author Key Bridge
+ */
+public class FacesContextStub extends FacesContextWrapper {
+
+  private final Map<Object, Object> attributes = new HashMap<>();
+
+  /**
+   * Construct a context that wraps no other context.
+   */
+  private FacesContextStub() {
+    super(null);
+  }
+
+  /**
+   * Install a new current FacesContext.
+   *
+   * @param cookies the request cookie names and values
+   * @return the context
+   */
+  public static FacesContextStub install(String... cookies) {
+    Map<String, String> values = new HashMap<>();
+    for (int i = 0; i + 1 < cookies.length; i += 2) {
+      values.put(cookies[i], cookies[i + 1]);
+    }
+    FacesContextStub context = new FacesContextStub();
+    context.attributes.put(RequestLocaleContext.ATTRIBUTE, new RequestLocaleContext(values::get));
+    setCurrentInstance(context);
+    return context;
+  }
+
+  /**
+   * Remove the current FacesContext.
+   */
+  public static void uninstall() {
+    setCurrentInstance(null);
+  }
+
+  @Override
+  public Map<Object, Object> getAttributes() {
+    return attributes;
+  }
+
+}
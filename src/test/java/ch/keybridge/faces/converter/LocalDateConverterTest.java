@@ -20,6 +20,7 @@ package ch.keybridge.faces.converter;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.time.format.FormatStyle;
 import java.time.temporal.ChronoField;
@@ -27,6 +28,10 @@ import java.util.Locale;
 import org.junit.Before;
 import org.junit.Test;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
 /**
  *
  * @author Key Bridge
@@ -86,4 +91,18 @@ public class LocalDateConverterTest {
 
   }
 
+  @Test
+  public void testSharedFormatter() {
+    ZoneId zone = ZoneId.of("America/New_York");
+    DateTimeFormatter formatter = AbstractConverter.ofPattern("dd-MMM-yyyy", Locale.US, zone);
+    assertSame(formatter, AbstractConverter.ofPattern("dd-MMM-yyyy", Locale.US, zone));
+    assertNotSame(formatter, AbstractConverter.ofPattern("dd-MMM-yyyy", Locale.FRANCE, zone));
+    assertNotSame(formatter, AbstractConverter.ofPattern("dd-MMM-yyyy", Locale.US, null));
+    assertEquals(zone, formatter.getZone());
+    assertSame(AbstractConverter.ofLocalizedDateTime(FormatStyle.MEDIUM, FormatStyle.SHORT, Locale.US, zone),
+               AbstractConverter.ofLocalizedDateTime(FormatStyle.MEDIUM, FormatStyle.SHORT, Locale.US, zone));
+    System.out.println("shared formatter " + formatter.format(LocalDate.of(2021, 2, 22)));
+    assertEquals("22-Feb-2021", formatter.format(LocalDate.of(2021, 2, 22)));
+  }
+
 }
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2020 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package ch.keybridge.faces.converter;
+
+import java.time.ZonedDateTime;
+import java.util.*;
+import org.junit.*;
+import org.ocpsoft.prettytime.PrettyTime;
+
+/**
+ *
+ * @author Key Bridge
+ */
+public class RelativeTimeFormatterTest {
+
+  @Test
+  public void testFormatAll() {
+    Date reference = new Date();
+    RelativeTimeFormatter formatter = new RelativeTimeFormatter(new PrettyTime(reference, Locale.ENGLISH));
+    PrettyTime prettyTime = new PrettyTime(reference, Locale.ENGLISH);
+
+    List<Object> values = new ArrayList<>();
+    Random random = new Random(1);
+    for (int i = 0; i < 500; i++) {
+      values.add(new Date(reference.getTime() - (long) (random.nextDouble() * 30 * 24 * 3600000L)));
+    }
+    values.add(null);
+    values.add(ZonedDateTime.now().minusHours(3));
+
+    List<String> strings = formatter.formatAll(values);
+    Assert.assertEquals(values.size(), strings.size());
+    for (int i = 0; i < 500; i++) {
+      Assert.assertEquals(prettyTime.format((Date) values.get(i)), strings.get(i));
+    }
+    System.out.println("  " + strings.subList(0, 5) + " ... " + strings.subList(500, 502));
+    Assert.assertEquals(RelativeTimeFormatter.NEVER, strings.get(500));
+    Assert.assertEquals("3 hours ago", strings.get(501));
+  }
+
+  @Test
+  public void testBucket() {
+    Assert.assertEquals(RelativeTimeFormatter.bucket(-3600000L), RelativeTimeFormatter.bucket(-3659999L));
+    Assert.assertNotEquals(RelativeTimeFormatter.bucket(-3600000L), RelativeTimeFormatter.bucket(3600000L));
+    Assert.assertNotEquals(RelativeTimeFormatter.bucket(-3599999L), RelativeTimeFormatter.bucket(-3600000L));
+    Assert.assertNotEquals(RelativeTimeFormatter.bucket(0), RelativeTimeFormatter.bucket(-999));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testFormatInvalid() {
+    new RelativeTimeFormatter(new PrettyTime()).format(Boolean.TRUE);
+  }
+
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2020 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package ch.keybridge.faces.converter;
+
+import java.util.Date;
+import java.util.Locale;
+import org.junit.*;
+import org.ocpsoft.prettytime.PrettyTime;
+
+/**
+ *
+ * @author Key Bridge
+ */
+public class RequestLocaleContextTest {
+
+  @Test
+  public void testGetPrettyTime() {
+    RequestLocaleContext context = new RequestLocaleContext();
+    PrettyTime english = context.getPrettyTime(Locale.ENGLISH);
+    Assert.assertSame(english, context.getPrettyTime(Locale.ENGLISH));
+    Assert.assertNotSame(english, context.getPrettyTime(Locale.GERMAN));
+    Assert.assertEquals(context.getReference(), english.getReference());
+
+    Date hourAgo = new Date(context.getReference().getTime() - 3600000L);
+    System.out.println("  " + english.format(hourAgo));
+    System.out.println("  " + context.getPrettyTime(Locale.GERMAN).format(hourAgo));
+    Assert.assertEquals("1 hour ago", english.format(hourAgo));
+  }
+
+}
@@ -22,6 +22,8 @@ import java.time.Instant;
 import java.time.ZoneId;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
+import java.util.Locale;
+import javax.faces.convert.ConverterException;
 import org.junit.*;
 
 /**
@@ -75,6 +77,43 @@ public class ZoneIdConverterTest {
 
   }
 
+  @Test
+  public void testGetAsObject() {
+    ZoneLocaleCache.clear();
+    ZoneIdConverter converter = new ZoneIdConverter();
+    Object zone = converter.getAsObject(null, null, "America/New_York");
+    System.out.println("zone " + zone);
+    Assert.assertEquals(ZoneId.of("America/New_York"), zone);
+    Assert.assertSame(zone, converter.getAsObject(null, null, "America/New_York"));
+    Assert.assertNull(converter.getAsObject(null, null, null));
+    for (int i = 0; i < 2; i++) {
+      try {
+        converter.getAsObject(null, null, "Not/A_Zone");
+        Assert.fail("invalid zone converted");
+      } catch (ConverterException ex) {
+        System.out.println("  invalid " + ex.getMessage());
+      }
+    }
+    Assert.assertNull(ZoneLocaleCache.findZoneId("Not/A_Zone"));
+    Assert.assertTrue(ZoneLocaleCache.INVALID_ZONE_IDS.contains("Not/A_Zone"));
+  }
+
+  @Test
+  public void testInvalidDoesNotFlush() {
+    ZoneLocaleCache.clear();
+    ZoneId zone = ZoneLocaleCache.findZoneId("Europe/Zurich");
+    Locale locale = ZoneLocaleCache.findLocale("de");
+    for (int i = 0; i < ZoneLocaleCache.MAX_ENTRIES * 2; i++) {
+      Assert.assertNull(ZoneLocaleCache.findZoneId("Not/A_Zone" + i));
+      Assert.assertEquals("GMT", ZoneLocaleCache.findTimeZone("Not/A_Zone" + i).getID());
+      ZoneLocaleCache.findLocale("x" + i);
+    }
+    System.out.println("  cached after invalid ids " + zone + " " + locale + ", " + ZoneLocaleCache.INVALID_ZONE_IDS.size() + " invalid ids");
+    Assert.assertEquals(ZoneLocaleCache.MAX_ENTRIES, ZoneLocaleCache.INVALID_ZONE_IDS.size());
+    Assert.assertSame(zone, ZoneLocaleCache.findZoneId("Europe/Zurich"));
+    Assert.assertSame(locale, ZoneLocaleCache.findLocale("de"));
+  }
+
 //  @Test
   public void testParseDate() {
     String date = "Sun Oct 25 2020 19:09:06 GMT-0400";
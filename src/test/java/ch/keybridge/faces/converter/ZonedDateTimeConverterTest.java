@@ -0,0 +1,80 @@
+/*
+ * Copyright 2020 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package ch.keybridge.faces.converter;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import javax.faces.component.UIComponent;
+import javax.faces.component.UIOutput;
+import javax.faces.context.FacesContext;
+import org.junit.*;
+
+/**
+ *
+ * @author Key Bridge
+ */
+public class ZonedDateTimeConverterTest {
+
+  private static final ZonedDateTime NOON_UTC = ZonedDateTime.of(2021, 2, 23, 12, 0, 0, 0, ZoneOffset.UTC);
+
+  @After
+  public void tearDown() {
+    FacesContextStub.uninstall();
+  }
+
+  /**
+   * Create a component before the context is installed; the stub does not
+   * support component creation.
+   */
+  private static UIComponent component() {
+    UIComponent component = new UIOutput();
+    component.getAttributes().put("pattern", "HH:mm");
+    return component;
+  }
+
+  @Test
+  public void testZoneFromCookie() {
+    UIComponent component = component();
+    FacesContext context = FacesContextStub.install(".tzid", "America/New_York");
+    String zoned = new ZonedDateTimeConverter().getAsString(context, component, NOON_UTC);
+    String local = new LocalDateTimeConverter().getAsString(context, component, NOON_UTC.toLocalDateTime());
+    System.out.println("  cookie zone " + zoned + " " + local);
+    Assert.assertEquals("07:00", zoned);
+    Assert.assertEquals("07:00", local);
+  }
+
+  @Test
+  public void testZoneWithoutCookie() {
+    UIComponent component = component();
+    FacesContext context = FacesContextStub.install();
+    String zoned = new ZonedDateTimeConverter().getAsString(context, component, NOON_UTC);
+    String local = new LocalDateTimeConverter().getAsString(context, component, LocalDateTime.of(2021, 2, 23, 12, 0));
+    System.out.println("  default zone " + zoned + " " + local);
+    Assert.assertEquals("12:00", zoned);
+    Assert.assertEquals("12:00", local);
+  }
+
+  @Test
+  public void testZoneWithoutContext() {
+    String zoned = new ZonedDateTimeConverter().getAsString(null, component(), NOON_UTC);
+    Assert.assertEquals("12:00", zoned);
+  }
+
+}
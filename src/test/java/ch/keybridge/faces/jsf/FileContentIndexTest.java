@@ -0,0 +1,74 @@
+/*
+ * Copyright 2021 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package ch.keybridge.faces.jsf;
+
+import java.util.Arrays;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ *
+ * @author Key Bridge
+ */
+public class FileContentIndexTest {
+
+  private static final String ROOT = "/resources/content/";
+
+  @Test
+  public void testResolve() {
+    FileContentIndex index = new FileContentIndex(ROOT, Arrays.asList(
+                                                    ROOT + "about.md",
+                                                    ROOT + "about.fr.md",
+                                                    ROOT + "about.fr.html",
+                                                    ROOT + "terms.xhtml",
+                                                    ROOT + "terms.fr.xhtml",
+                                                    ROOT + "notice.fr.xhtml",
+                                                    ROOT + "notice.md",
+                                                    ROOT + "help/faq.json",
+                                                    ROOT + "image.png"));
+    /**
+     * Language-translated files are preferred.
+     */
+    assertEquals(ROOT + "about.fr.md", index.resolve("about", "fr").path);
+    assertEquals(ROOT + "about.md", index.resolve("about", "en").path);
+    /**
+     * Pre-rendered markdown.
+     */
+    assertEquals(ROOT + "about.fr.html", index.resolve("about", "fr").rendered);
+    assertNull(index.resolve("about", "en").rendered);
+    assertEquals(ROOT + "terms.fr.xhtml", index.resolve("terms", "fr").path);
+    /**
+     * Extension order takes precedence over language.
+     */
+    assertEquals(ROOT + "notice.md", index.resolve("notice", "fr").path);
+    /**
+     * Sub-directories and dotted labels.
+     */
+    assertEquals(ROOT + "help/faq.json", index.resolve("help/faq", "en").path);
+    assertEquals(ROOT + "about.fr.md", index.resolve("about.fr", "en").path);
+    /**
+     * Missing.
+     */
+    assertNull(index.resolve("missing", "en"));
+    assertNull(index.resolve("image", "en"));
+  }
+
+}
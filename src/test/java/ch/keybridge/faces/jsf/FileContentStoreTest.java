@@ -0,0 +1,56 @@
+/*
+ * Copyright 2021 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package ch.keybridge.faces.jsf;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Random;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ *
+ * @author Key Bridge
+ */
+public class FileContentStoreTest {
+
+  @Test
+  public void testNormalizeLines() {
+    assertEquals("a\nb\nc", FileContentStore.normalizeLines("a\r\nb\rc\r\n"));
+    assertEquals("a\n", FileContentStore.normalizeLines("a\n\n"));
+    assertEquals("a", FileContentStore.normalizeLines("a\r"));
+    assertEquals("", FileContentStore.normalizeLines("\n"));
+    String unchanged = "# title\n\ntext";
+    assertSame(unchanged, FileContentStore.normalizeLines(unchanged));
+  }
+
+  @Test
+  public void testReadAllBytes() throws IOException {
+    for (int size : new int[]{0, 1, 8 * 1024, 8 * 1024 + 1, 100000}) {
+      byte[] data = new byte[size];
+      new Random(size).nextBytes(data);
+      assertArrayEquals(data, FileContentStore.readAllBytes(new ByteArrayInputStream(data)));
+    }
+    System.out.println("readAllBytes OK");
+  }
+
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2021 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package ch.keybridge.faces.jsf;
+
+import ch.keybridge.faces.wadl.AbstractWadlBean;
+import ch.keybridge.faces.wadl.WadlSnapshot;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Key Bridge
+ */
+public class WadlRegistryTest {
+
+  private static final String URL = "http://localhost/app/rest/application.wadl";
+
+  private static final String WADL = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+    + "<application xmlns=\"http://wadl.dev.java.net/2009/02\">\n"
+    + "  <resources base=\"http://localhost/app/rest/\">\n"
+    + "    <resource path=\"country\">\n"
+    + "      <method id=\"getCountry\" name=\"GET\"><request><param name=\"code\" style=\"query\"/></request></method>\n"
+    + "    </resource>\n"
+    + "  </resources>\n"
+    + "</application>";
+
+  @Test
+  public void testNotModified() throws Exception {
+    WadlSnapshot previous = WadlRegistry.toSnapshot(URL, null, 200, WADL, "\"a\"", 1000);
+    assertSame(previous, WadlRegistry.toSnapshot(URL, previous, 304, null, "\"a\"", 1000));
+    /**
+     * An unconditional request is never answered "Not Modified".
+     */
+    try {
+      WadlRegistry.toSnapshot(URL, null, 304, null, null, 0);
+      fail("304 accepted without a previous snapshot");
+    } catch (Exception expected) {
+      System.out.println("  unconditional " + expected.getMessage());
+    }
+  }
+
+  @Test
+  public void testIdenticalXml() throws Exception {
+    WadlSnapshot previous = WadlRegistry.toSnapshot(URL, null, 200, WADL, "\"a\"", 1000);
+    WadlSnapshot downloaded = WadlRegistry.toSnapshot(URL, previous, 200, new String(WADL), "\"b\"", 2000);
+    assertNotSame(previous, downloaded);
+    assertSame(previous.getApplication(), downloaded.getApplication());
+    assertSame(previous.getIndex(), downloaded.getIndex());
+    assertEquals("\"b\"", downloaded.getEtag());
+    assertEquals(2000, downloaded.getLastModified());
+  }
+
+  @Test
+  public void testChangedXml() throws Exception {
+    WadlSnapshot previous = WadlRegistry.toSnapshot(URL, null, 200, WADL, null, 0);
+    String changed = WADL.replace("getCountry", "findCountry");
+    WadlSnapshot downloaded = WadlRegistry.toSnapshot(URL, previous, 200, changed, null, 0);
+    assertNotSame(previous.getApplication(), downloaded.getApplication());
+    assertNotNull(downloaded.getIndex().findMethod("findCountry"));
+    assertEquals(URL, downloaded.getUrl());
+    assertSame(changed, downloaded.getXml());
+  }
+
+  @Test
+  public void testError() throws Exception {
+    WadlSnapshot previous = new WadlSnapshot(URL, AbstractWadlBean.parseApplication(WADL));
+    for (int status : new int[]{404, 500}) {
+      try {
+        WadlRegistry.toSnapshot(URL, previous, status, null, null, 0);
+        fail("HTTP " + status + " accepted");
+      } catch (Exception expected) {
+        assertEquals("HTTP " + status, expected.getMessage());
+      }
+    }
+  }
+
+  @Test
+  public void testBuildWadlUrl() {
+    assertEquals("/app/rest/application.wadl", WadlRegistry.buildWadlUrl("/app", "rest"));
+    assertEquals("/app/api/1/application.wadl", WadlRegistry.buildWadlUrl("/app/", "api/1/"));
+  }
+
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2021 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package ch.keybridge.faces.markdown;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ *
+ * @author Key Bridge
+ */
+public class MarkdownCacheTest {
+
+  @Test
+  public void testHitAndMiss() {
+    AtomicInteger renderCount = new AtomicInteger();
+    Function<String, String> renderer = markdown -> {
+      renderCount.incrementAndGet();
+      return "<p>" + markdown + "</p>";
+    };
+    MarkdownCache cache = new MarkdownCache();
+    assertEquals("<p>hello</p>", cache.get("hello", renderer));
+    assertEquals("<p>hello</p>", cache.get("hello", renderer));
+    assertEquals("<p>world</p>", cache.get("world", renderer));
+    assertEquals(2, renderCount.get());
+    assertEquals(1, cache.getHitCount());
+    assertEquals(2, cache.getMissCount());
+    System.out.println(cache);
+  }
+
+  @Test
+  public void testSizeEviction() {
+    MarkdownCache cache = new MarkdownCache(2, MarkdownCache.DEFAULT_MAXIMUM_WEIGHT);
+    cache.get("a", Function.identity());
+    cache.get("b", Function.identity());
+    cache.get("a", Function.identity()); // a is now most recently used
+    cache.get("c", Function.identity()); // evicts b
+    assertEquals(2, cache.size());
+    assertEquals(1, cache.getEvictionCount());
+    cache.get("a", Function.identity());
+    assertEquals(2, cache.getHitCount());
+  }
+
+  @Test
+  public void testWeightEviction() {
+    MarkdownCache cache = new MarkdownCache(100, 10);
+    cache.get("12345", Function.identity());
+    cache.get("67890", Function.identity());
+    assertEquals(10, cache.getWeight());
+    cache.get("abc", Function.identity());
+    assertTrue(cache.getWeight() <= 10);
+    cache.get("this entry is heavier than the cache", Function.identity());
+    assertTrue(cache.getWeight() <= 10);
+    assertEquals(2, cache.size());
+  }
+
+}
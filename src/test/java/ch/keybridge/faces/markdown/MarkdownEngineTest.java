@@ -0,0 +1,70 @@
+/*
+ * Copyright 2021 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package ch.keybridge.faces.markdown;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ *
+ * @author Key Bridge
+ */
+public class MarkdownEngineTest {
+
+  @Test
+  public void testProfiles() {
+    assertSame(MarkdownEngine.full(), MarkdownEngine.getInstance(MarkdownEngine.FULL));
+    assertSame(MarkdownEngine.content(), MarkdownEngine.getInstance(MarkdownEngine.CONTENT));
+  }
+
+  @Test
+  public void testToHtml() {
+    String markdown = "# Title\n\n| a | b |\n|---|---|\n| 1 | 2 |\n\nH~2~O and ~~strike~~";
+    String html = MarkdownEngine.full().toHtml(markdown);
+    System.out.println(html);
+    assertTrue(html.contains("<h1>Title</h1>"));
+    assertTrue(html.contains("<table class=\"table\">"));
+    assertEquals(html, MarkdownEngine.full().toHtml(markdown));
+    assertTrue(MarkdownEngine.full().getCache().getHitCount() > 0);
+    /**
+     * The content profile does not include the strikethrough extension.
+     */
+    System.out.println(MarkdownEngine.content().toHtml(markdown));
+  }
+
+  @Test
+  public void testWrite() throws Exception {
+    StringBuilder small = new StringBuilder();
+    MarkdownEngine.full().write("Some *emphasis*", small);
+    assertEquals(MarkdownEngine.full().toHtml("Some *emphasis*"), small.toString());
+
+    StringBuilder markdown = new StringBuilder();
+    while (markdown.length() <= MarkdownEngine.STREAMING_THRESHOLD) {
+      markdown.append("A paragraph of **markdown** text.\n\n");
+    }
+    StringBuilder large = new StringBuilder();
+    MarkdownEngine.full().write(markdown.toString(), large);
+    System.out.println("Streamed " + markdown.length() + " characters to " + large.length() + " characters of HTML");
+    assertEquals(MarkdownEngine.full().toHtmlUncached(markdown.toString()), large.toString());
+  }
+
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2021 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package ch.keybridge.faces.wadl;
+
+import java.util.Arrays;
+import java.util.Collections;
+import net.java.dev.wadl.Application;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Key Bridge
+ */
+public class WadlDiffTest {
+
+  /**
+   * The {@link WadlIndexTest#WADL} fixture with the status method removed,
+   * deleteCountry changed, createCountry added and getCountry documented.
+   */
+  static final String WADL_CHANGED = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+    + "<application xmlns=\"http://wadl.dev.java.net/2009/02\">\n"
+    + "  <resources base=\"http://localhost/rest/\">\n"
+    + "    <resource path=\"country\">\n"
+    + "      <method id=\"listCountries\" name=\"GET\"><response><representation mediaType=\"application/json\"/></response></method>\n"
+    + "      <method id=\"createCountry\" name=\"POST\"><request><representation mediaType=\"application/json\"/></request></method>\n"
+    + "      <resource path=\"{code}\">\n"
+    + "        <param name=\"code\" style=\"template\"/>\n"
+    + "        <method id=\"getCountry\" name=\"GET\"><doc>The country.</doc><response><representation mediaType=\"application/json\"/></response></method>\n"
+    + "        <method id=\"deleteCountry\" name=\"DELETE\"><request><param name=\"force\" style=\"query\"/></request></method>\n"
+    + "      </resource>\n"
+    + "    </resource>\n"
+    + "  </resources>\n"
+    + "</application>";
+
+  @Test
+  public void testCompare() throws Exception {
+    WadlIndex previous = new WadlIndex(AbstractWadlBean.parseApplication(WadlIndexTest.WADL));
+    WadlIndex current = new WadlIndex(AbstractWadlBean.parseApplication(WADL_CHANGED));
+    WadlDiff diff = WadlDiff.compare(previous, current);
+    System.out.println(diff + " added " + diff.getAdded() + " removed " + diff.getRemoved() + " changed " + diff.getChanged());
+    assertFalse(diff.isEmpty());
+    assertEquals(Collections.singleton("createCountry"), diff.getAdded());
+    assertEquals(Collections.singleton("getStatus"), diff.getRemoved());
+    /**
+     * Documentation is not compared.
+     */
+    assertEquals(Collections.singleton("deleteCountry"), diff.getChanged());
+  }
+
+  @Test
+  public void testIdentical() throws Exception {
+    Application first = AbstractWadlBean.parseApplication(WadlIndexTest.WADL);
+    Application second = AbstractWadlBean.parseApplication(WadlIndexTest.WADL);
+    WadlIndex previous = new WadlIndex(first);
+    WadlIndex current = new WadlIndex(second);
+    for (String id : previous.getMethodIds()) {
+      assertEquals(WadlDiff.fingerprint(previous.findMethod(id)), WadlDiff.fingerprint(current.findMethod(id)));
+    }
+    assertTrue(WadlDiff.compare(previous, current).isEmpty());
+  }
+
+  @Test
+  public void testFingerprint() throws Exception {
+    WadlIndex previous = new WadlIndex(AbstractWadlBean.parseApplication(WadlIndexTest.WADL));
+    WadlIndex current = new WadlIndex(AbstractWadlBean.parseApplication(WADL_CHANGED));
+    String fingerprint = WadlDiff.fingerprint(current.findMethod("deleteCountry"));
+    System.out.println(fingerprint);
+    assertTrue(fingerprint.contains("param force"));
+    assertNotEquals(WadlDiff.fingerprint(previous.findMethod("deleteCountry")), fingerprint);
+    for (String id : Arrays.asList("listCountries", "getCountry")) {
+      assertEquals(WadlDiff.fingerprint(previous.findMethod(id)), WadlDiff.fingerprint(current.findMethod(id)));
+    }
+  }
+
+  @Test
+  public void testRevalidate() throws Exception {
+    WadlSnapshot snapshot = new WadlSnapshot("http://localhost/rest/application.wadl", AbstractWadlBean.parseApplication(WadlIndexTest.WADL), WadlIndexTest.WADL, 1000, "\"a\"", 2000);
+    WadlSnapshot revalidated = snapshot.revalidate(null, "\"b\"", 3000);
+    assertNotSame(snapshot, revalidated);
+    assertSame(snapshot.getApplication(), revalidated.getApplication());
+    assertSame(snapshot.getRenderModel(), revalidated.getRenderModel());
+    assertSame(snapshot.getIndex(), revalidated.getIndex());
+    assertSame(WadlIndexTest.WADL, revalidated.getXml());
+    assertEquals("\"b\"", revalidated.getEtag());
+    assertEquals(3000, revalidated.getLastModified());
+    assertTrue(revalidated.getLoaded() > snapshot.getLoaded());
+  }
+
+}
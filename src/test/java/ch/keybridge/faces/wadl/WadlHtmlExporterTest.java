@@ -0,0 +1,53 @@
+/*
+ * Copyright 2021 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package ch.keybridge.faces.wadl;
+
+import java.util.Properties;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ *
+ * @author Key Bridge
+ */
+public class WadlHtmlExporterTest {
+
+  @Test
+  public void testEscape() {
+    assertEquals("&lt;b&gt;A &amp; &quot;B&quot;&lt;/b&gt;", WadlHtmlExporter.escape("<b>A & \"B\"</b>"));
+    assertEquals("", WadlHtmlExporter.escape(null));
+    assertEquals("a \\| b c", WadlHtmlExporter.cell("a | b\n  c"));
+  }
+
+  @Test
+  public void testPropertiesLabelProvider() {
+    Properties properties = new Properties();
+    properties.setProperty("getCountry_code", "The **country** code");
+    LabelProvider labels = new WadlHtmlExporter.PropertiesLabelProvider(properties);
+    String label = labels.getLabel("getCountry", "code");
+    System.out.println(label);
+    assertTrue(label.contains("<strong>country</strong>"));
+    assertNull(labels.getLabel("getCountry", "name"));
+    assertEquals("Calculate Country Intersect", labels.parseMethodId("CalculateCountryIntersect"));
+  }
+
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2021 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package ch.keybridge.faces.wadl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import net.java.dev.wadl.Application;
+import net.java.dev.wadl.Method;
+import net.java.dev.wadl.Resource;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Key Bridge
+ */
+public class WadlIndexTest {
+
+  static final String WADL = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+    + "<application xmlns=\"http://wadl.dev.java.net/2009/02\">\n"
+    + "  <resources base=\"http://localhost/rest/\">\n"
+    + "    <resource path=\"country\">\n"
+    + "      <method id=\"listCountries\" name=\"GET\"><response><representation mediaType=\"application/json\"/></response></method>\n"
+    + "      <resource path=\"{code}\">\n"
+    + "        <param name=\"code\" style=\"template\"/>\n"
+    + "        <method id=\"getCountry\" name=\"GET\"><response><representation mediaType=\"application/json\"/></response></method>\n"
+    + "        <method id=\"deleteCountry\" name=\"DELETE\"/>\n"
+    + "      </resource>\n"
+    + "    </resource>\n"
+    + "    <resource path=\"status\">\n"
+    + "      <method id=\"getStatus\" name=\"GET\"/>\n"
+    + "    </resource>\n"
+    + "  </resources>\n"
+    + "</application>";
+
+  @Test
+  public void testMethods() throws Exception {
+    WadlIndex index = new WadlIndex(AbstractWadlBean.parseApplication(WADL));
+    System.out.println("WadlIndex methods " + index.getMethodIds());
+    assertEquals(4, index.size());
+    assertEquals("getCountry", index.findMethod("getCountry").getId());
+    assertNull(index.findMethod("missing"));
+    assertNull(index.findMethod(null));
+
+    List<Method> get = index.findMethodsByVerb("get");
+    assertEquals(3, get.size());
+    assertSorted(get);
+    assertEquals(1, index.findMethodsByVerb("DELETE").size());
+    assertTrue(index.findMethodsByVerb("PATCH").isEmpty());
+    assertTrue(index.findMethodsByVerb(null).isEmpty());
+  }
+
+  @Test
+  public void testResources() throws Exception {
+    Application application = AbstractWadlBean.parseApplication(WADL);
+    WadlIndex index = new WadlIndex(application);
+    assertSame(application.getResources().get(0), index.findResources("http://localhost/rest/"));
+    assertNull(index.findResources("http://localhost/other/"));
+    assertNull(index.findResources(null));
+
+    Resource country = index.findResource("country");
+    assertSame(application.findResource("country"), country);
+    assertSame(application.findResource("{code}"), index.findResource("{code}"));
+    assertNull(index.findResource("missing"));
+    assertNull(index.findResource(null));
+    /**
+     * The methods of a resource include those of its sub-resources.
+     */
+    List<Method> methods = index.findMethods(country);
+    assertEquals(3, methods.size());
+    assertSorted(methods);
+    assertSame(methods, index.findMethods(country));
+    assertTrue(index.findMethods(null).isEmpty());
+    try {
+      methods.clear();
+      fail("indexed list is modifiable");
+    } catch (UnsupportedOperationException expected) {
+    }
+  }
+
+  @Test
+  public void testEmpty() {
+    WadlIndex index = new WadlIndex(null);
+    assertEquals(0, index.size());
+    assertNull(index.findResource("country"));
+    assertNull(index.findResources("http://localhost/rest/"));
+    assertTrue(index.findMethodsByVerb("GET").isEmpty());
+  }
+
+  private static void assertSorted(List<Method> methods) {
+    List<Method> sorted = new ArrayList<>(methods);
+    Collections.sort(sorted);
+    assertEquals(sorted, methods);
+  }
+
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2021 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package ch.keybridge.faces.wadl;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ *
+ * @author Key Bridge
+ */
+public class WadlLabelCacheTest {
+
+  @Test
+  public void testResolveOncePerLocale() {
+    AtomicInteger lookupCount = new AtomicInteger();
+    Function<String, String> resolver = key -> {
+      lookupCount.incrementAndGet();
+      return key.startsWith("missing") ? null : "<p>" + key + "</p>";
+    };
+    WadlLabelCache cache = new WadlLabelCache();
+    assertEquals("<p>getThing_id</p>", cache.get(Locale.ENGLISH, "getThing_id", resolver));
+    assertEquals("<p>getThing_id</p>", cache.get(Locale.ENGLISH, "getThing_id", resolver));
+    assertNull(cache.get(Locale.ENGLISH, "missing_id", resolver));
+    assertNull(cache.get(Locale.ENGLISH, "missing_id", resolver));
+    assertEquals(2, lookupCount.get());
+    /**
+     * Another locale is resolved separately.
+     */
+    assertEquals("<p>getThing_id</p>", cache.get(Locale.FRENCH, "getThing_id", resolver));
+    assertEquals(3, lookupCount.get());
+    assertEquals(3, cache.size());
+    System.out.println("WadlLabelCache size " + cache.size() + " lookups " + lookupCount.get());
+
+    cache.clear();
+    assertEquals(0, cache.size());
+    assertNull(cache.get(null, "missing_id", resolver));
+    assertEquals(4, lookupCount.get());
+  }
+
+  @Test
+  public void testBundleChanged() {
+    AtomicInteger lookupCount = new AtomicInteger();
+    Function<String, String> resolver = key -> lookupCount.incrementAndGet() + ":" + key;
+    WadlLabelCache cache = new WadlLabelCache();
+    Object bundle = new Object();
+    assertEquals("1:getThing", cache.get(Locale.ENGLISH, bundle, "getThing", resolver));
+    assertEquals("1:getThing", cache.get(Locale.ENGLISH, bundle, "getThing", resolver));
+    assertEquals("2:getThing", cache.get(Locale.FRENCH, bundle, "getThing", resolver));
+    /**
+     * A reloaded bundle discards the labels of its locale only.
+     */
+    Object reloaded = new Object();
+    assertEquals("3:getThing", cache.get(Locale.ENGLISH, reloaded, "getThing", resolver));
+    assertEquals("2:getThing", cache.get(Locale.FRENCH, bundle, "getThing", resolver));
+    assertEquals(2, cache.size());
+  }
+
+  @Test
+  public void testInvalidate() {
+    WadlLabelCache cache = new WadlLabelCache();
+    Function<String, String> resolver = Function.identity();
+    cache.get(Locale.ENGLISH, "getThing", resolver);
+    cache.get(Locale.ENGLISH, "getThing_id", resolver);
+    cache.get(Locale.FRENCH, "getThing_id", resolver);
+    cache.get(Locale.ENGLISH, "getThingList_id", resolver);
+    cache.invalidate("getThing");
+    assertEquals(1, cache.size());
+    assertEquals("getThingList_id", cache.get(Locale.ENGLISH, "getThingList_id", key -> null));
+  }
+
+}
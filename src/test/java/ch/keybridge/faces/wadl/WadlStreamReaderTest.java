@@ -0,0 +1,75 @@
+/*
+ * Copyright 2021 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package ch.keybridge.faces.wadl;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import javax.xml.stream.XMLStreamConstants;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ *
+ * @author Key Bridge
+ */
+public class WadlStreamReaderTest {
+
+  private static final String WADL = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+    + "<application xmlns=\"http://wadl.dev.java.net/2009/02\">\n"
+    + "  <doc title=\"test\"/>\n"
+    + "  <grammars>\n"
+    + "    <include href=\"application.wadl/xsd0.xsd\"><doc title=\"schema\"/></include>\n"
+    + "    <grammars/>\n"
+    + "  </grammars>\n"
+    + "  <resources base=\"http://localhost/rest/\">\n"
+    + "    <resource path=\"country\">\n"
+    + "      <method id=\"getCountry\" name=\"GET\"><request><param name=\"code\" style=\"query\"/></request></method>\n"
+    + "    </resource>\n"
+    + "  </resources>\n"
+    + "</application>";
+
+  @Test
+  public void testSkipGrammars() throws Exception {
+    WadlStreamReader reader = WadlStreamReader.create(new StringReader(WADL));
+    List<String> elements = new ArrayList<>();
+    while (reader.hasNext()) {
+      if (reader.next() == XMLStreamConstants.START_ELEMENT) {
+        elements.add(reader.getLocalName());
+      }
+    }
+    reader.close();
+    System.out.println(elements);
+    assertEquals("[application, doc, resources, resource, method, request, param]", elements.toString());
+    assertEquals(1, reader.getSkipped());
+  }
+
+  @Test
+  public void testNextTag() throws Exception {
+    WadlStreamReader reader = WadlStreamReader.create(new StringReader(WADL));
+    reader.nextTag(); // application
+    reader.nextTag(); // doc
+    reader.nextTag(); // end doc
+    assertEquals(XMLStreamConstants.START_ELEMENT, reader.nextTag());
+    assertEquals("resources", reader.getLocalName());
+    reader.close();
+  }
+
+}